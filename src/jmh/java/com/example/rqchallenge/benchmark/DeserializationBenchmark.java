@@ -0,0 +1,44 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.config.EmployeeStreamReader;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Parsing of the upstream {@code /employees} body: bound to {@link EmployeeResponse} through
+ * {@code EmployeeDataDeserializer}, as the list fetch does, and streamed through {@link EmployeeStreamReader}.
+ */
+@State(Scope.Benchmark)
+public class DeserializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = EmployeeDataset.objectMapper();
+        body = EmployeeDataset.upstreamJson(EmployeeDataset.employees(size), objectMapper);
+    }
+
+    @Benchmark
+    public EmployeeResponse bindResponse() throws IOException {
+        return objectMapper.readValue(body, EmployeeResponse.class);
+    }
+
+    @Benchmark
+    public int streamResponse(Blackhole blackhole) throws IOException {
+        return EmployeeStreamReader.readResponse(new ByteArrayInputStream(body), objectMapper.getFactory(), blackhole::consume);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible employee data for the benchmarks. Names repeat the way real ones do, and the upstream JSON has the
+ * shape and string-typed numbers of the external API.
+ */
+final class EmployeeDataset {
+
+    private static final String[] FIRST_NAMES = {
+            "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya",
+            "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai"};
+    private static final String[] LAST_NAMES = {
+            "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost",
+            "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios"};
+
+    private EmployeeDataset() {
+    }
+
+    static List<Employee> employees(int size) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(Integer.toString(i), name, 20_000 + random.nextInt(480_000), 18 + random.nextInt(50), ""));
+        }
+        return employees;
+    }
+
+    /**
+     * Encodes the employees as the body of the upstream {@code /employees} response.
+     */
+    static byte[] upstreamJson(List<Employee> employees, ObjectMapper objectMapper) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(employees.size() * 128 + 64);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                generator.writeStartObject();
+                generator.writeStringField("id", employee.getId());
+                generator.writeStringField("employee_name", employee.getName());
+                generator.writeStringField("employee_salary", Long.toString(employee.getSalary()));
+                generator.writeStringField("employee_age", Integer.toString(employee.getAge()));
+                generator.writeStringField("profile_image", employee.getProfileImage());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("message", "Successfully! All records has been fetched.");
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * An object mapper configured like the one Spring Boot provides to the application.
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.cache.EmployeeNotFoundCache;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamLimiter;
+import com.example.rqchallenge.employees.client.UpstreamRequestCoalescer;
+import com.example.rqchallenge.employees.index.NameSearchIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeLookupService;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The read paths of {@link EmployeeService} in memory mode, wired by hand against a {@link StubUpstream} with
+ * upstream limits and the circuit breaker off. The snapshot is loaded once and kept, except by
+ * {@link #syncEmployees()}, which measures a full reload: HTTP fetch, parsing, diff and publication.
+ */
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private StubUpstream upstream;
+    private EmployeeSnapshotCache snapshotCache;
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = EmployeeDataset.objectMapper();
+        upstream = new StubUpstream(EmployeeDataset.upstreamJson(EmployeeDataset.employees(size), objectMapper));
+
+        EmployeeApiClient apiClient = new EmployeeApiClient(
+                new RestTemplate(new HttpComponentsClientHttpRequestFactory()),
+                upstream.getBaseUrl(),
+                new UpstreamRequestCoalescer(true),
+                objectMapper,
+                new UpstreamLimiter(new StandardEnvironment()),
+                new UpstreamCircuitBreaker(false, 50, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(30), 3),
+                new SimpleMeterRegistry());
+        SalaryIndex salaryIndex = new SalaryIndex(compact);
+        NameSearchIndex nameSearchIndex = new NameSearchIndex(compact);
+        EmployeeNotFoundCache notFoundCache = new EmployeeNotFoundCache(Duration.ofSeconds(10), 100_000);
+        snapshotCache = new EmployeeSnapshotCache(true, Duration.ofDays(1), Duration.ofDays(1), Integer.MAX_VALUE, compact, 0.5,
+                List.of(salaryIndex, nameSearchIndex, notFoundCache));
+        // The repository is only used when reading from the database, so by-id lookups skip it as well
+        EmployeeLookupService lookupService = new EmployeeLookupService(snapshotCache, notFoundCache, null, apiClient, false);
+        employeeService = new EmployeeService(apiClient, null, objectMapper, snapshotCache, salaryIndex, nameSearchIndex,
+                lookupService, 1000, "memory", false);
+        employeeService.getAllEmployees();
+    }
+
+    @TearDown
+    public void tearDown() {
+        snapshotCache.shutdown();
+        upstream.close();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return employeeService.getEmployeesByNameSearch("son");
+    }
+
+    @Benchmark
+    public Long highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<Employee> syncEmployees() {
+        return employeeService.syncEmployees().join();
+    }
+}
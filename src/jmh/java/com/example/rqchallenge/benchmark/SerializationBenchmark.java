@@ -0,0 +1,49 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.cache.CompactEmployeeList;
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * JSON encoding of {@link Employee}s as the controllers write them, for the full list and a single employee. With
+ * {@code compact} the list is a {@link CompactEmployeeList}, so every row is materialized while it is written.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        objectMapper = EmployeeDataset.objectMapper();
+        List<Employee> generated = EmployeeDataset.employees(size);
+        employees = compact ? CompactEmployeeList.of(generated) : generated;
+        employee = generated.get(0);
+    }
+
+    @Benchmark
+    public byte[] writeEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] writeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.rqchallenge.loadtest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory stand-in for the external employee API, for offline load tests.
+ * <p>
+ * Serves {@code GET /employees}, {@code GET /employee/{id}}, {@code POST /create} and {@code DELETE /delete/{id}}
+ * with the response shapes of the real API over a generated dataset. Every request is delayed by a log-normal
+ * latency and may be answered with a 429 (with {@code Retry-After}) or a 500 at the configured rates.
+ * {@code GET /__stats} returns the request counts per endpoint. Point the application at it with
+ * {@code employee.service.endpoint=http://host:port}.
+ * <p>
+ * Options: {@code --port=9090 --size=1000 --latency-median=20ms --latency-sigma=0.5 --error-rate=0
+ * --throttle-rate=0 --retry-after=1 --threads=256 --seed=42}
+ */
+public final class FakeUpstreamServer implements AutoCloseable {
+
+    static final String[] ENDPOINTS = {"employees", "employee", "create", "delete"};
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod",
+            "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler",
+            "Davidson", "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentSkipListMap<Long, FakeEmployee> employees = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private volatile byte[] employeesBody;
+
+    private final long latencyMedianNanos;
+    private final double latencySigma;
+    private final double errorRate;
+    private final double throttleRate;
+    private final int retryAfterSeconds;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    public FakeUpstreamServer(Options options) throws IOException {
+        this.latencyMedianNanos = options.getDuration("latency-median", Duration.ofMillis(20)).toNanos();
+        this.latencySigma = options.getDouble("latency-sigma", 0.5);
+        this.errorRate = options.getDouble("error-rate", 0);
+        this.throttleRate = options.getDouble("throttle-rate", 0);
+        this.retryAfterSeconds = options.getInt("retry-after", 1);
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        Random random = new Random(options.getInt("seed", 42));
+        int size = options.getInt("size", 1000);
+        for (int i = 0; i < size; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            add(name, 20_000 + random.nextInt(480_000), 18 + random.nextInt(50));
+        }
+
+        this.executor = Executors.newFixedThreadPool(options.getInt("threads", 256));
+        this.server = HttpServer.create(new InetSocketAddress(options.getInt("port", 9090)), 1024);
+        server.createContext("/employees", exchange -> handle(exchange, "employees", this::listEmployees));
+        server.createContext("/employee/", exchange -> handle(exchange, "employee", this::getEmployee));
+        server.createContext("/create", exchange -> handle(exchange, "create", this::createEmployee));
+        server.createContext("/delete/", exchange -> handle(exchange, "delete", this::deleteEmployee));
+        server.createContext("/__stats", this::writeStats);
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeUpstreamServer server = new FakeUpstreamServer(new Options(args));
+        server.start();
+        System.out.println("Fake upstream with " + server.employees.size() + " employees listening on " + server.getBaseUrl());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+
+    private void listEmployees(HttpExchange exchange) throws IOException {
+        send(exchange, 200, encodeEmployees());
+    }
+
+    // Mutations invalidate the cached body under the same lock, so a stale list is never cached
+    private synchronized byte[] encodeEmployees() throws IOException {
+        byte[] body = employeesBody;
+        if (body == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(employees.size() * 128 + 64);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeStringField("status", "success");
+                generator.writeArrayFieldStart("data");
+                for (FakeEmployee employee : employees.values()) {
+                    employee.write(generator);
+                }
+                generator.writeEndArray();
+                generator.writeStringField("message", "Successfully! All records has been fetched.");
+                generator.writeEndObject();
+            }
+            body = out.toByteArray();
+            employeesBody = body;
+        }
+        return body;
+    }
+
+    private void getEmployee(HttpExchange exchange) throws IOException {
+        FakeEmployee employee = employees.get(parseId(exchange, "/employee/"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+            if (employee != null) {
+                employee.write(generator);
+            } else {
+                generator.writeNull();
+            }
+            generator.writeStringField("message", "Successfully! Record has been fetched.");
+            generator.writeEndObject();
+        }
+        send(exchange, 200, out.toByteArray());
+    }
+
+    private void createEmployee(HttpExchange exchange) throws IOException {
+        JsonNode request;
+        try (InputStream in = exchange.getRequestBody()) {
+            request = objectMapper.readTree(in);
+        }
+        FakeEmployee employee = add(request.path("employee_name").asText(request.path("name").asText()),
+                request.path("employee_salary").asLong(request.path("salary").asLong()),
+                request.path("employee_age").asInt(request.path("age").asInt()));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", employee.name);
+        data.put("salary", Long.toString(employee.salary));
+        data.put("age", Integer.toString(employee.age));
+        data.put("id", employee.id);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("data", data);
+        send(exchange, 200, objectMapper.writeValueAsBytes(response));
+    }
+
+    private void deleteEmployee(HttpExchange exchange) throws IOException {
+        long id = parseId(exchange, "/delete/");
+        remove(id);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "success");
+        response.put("data", Long.toString(id));
+        response.put("message", "Successfully! Record has been deleted");
+        send(exchange, 200, objectMapper.writeValueAsBytes(response));
+    }
+
+    private void writeStats(HttpExchange exchange) throws IOException {
+        Map<String, Map<String, Long>> snapshot = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> snapshot.put(endpoint, endpointStats.toMap()));
+        send(exchange, 200, objectMapper.writeValueAsBytes(snapshot));
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, Handler handler) throws IOException {
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.requests.increment();
+        try {
+            sleepLatency();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < throttleRate) {
+                endpointStats.throttled.increment();
+                exchange.getResponseHeaders().add("Retry-After", Integer.toString(retryAfterSeconds));
+                send(exchange, 429, "Too Many Requests".getBytes(StandardCharsets.UTF_8));
+            } else if (random.nextDouble() < errorRate) {
+                endpointStats.errors.increment();
+                send(exchange, 500, "{\"status\":\"error\"}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                handler.handle(exchange);
+                endpointStats.ok.increment();
+            }
+        } catch (NumberFormatException e) {
+            endpointStats.errors.increment();
+            send(exchange, 400, "{\"status\":\"error\"}".getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleepLatency() throws InterruptedException {
+        if (latencyMedianNanos <= 0) {
+            return;
+        }
+        double factor = latencySigma > 0 ? Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian()) : 1;
+        TimeUnit.NANOSECONDS.sleep((long) (latencyMedianNanos * factor));
+    }
+
+    private synchronized void remove(long id) {
+        if (employees.remove(id) != null) {
+            employeesBody = null;
+        }
+    }
+
+    private synchronized FakeEmployee add(String name, long salary, int age) {
+        FakeEmployee employee = new FakeEmployee(Long.toString(nextId.getAndIncrement()), name, salary, age);
+        employees.put(Long.parseLong(employee.id), employee);
+        employeesBody = null;
+        return employee;
+    }
+
+    private static long parseId(HttpExchange exchange, String prefix) {
+        return Long.parseLong(exchange.getRequestURI().getPath().substring(prefix.length()));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static final class FakeEmployee {
+        private final String id;
+        private final String name;
+        private final long salary;
+        private final int age;
+
+        private FakeEmployee(String id, String name, long salary, int age) {
+            this.id = id;
+            this.name = name;
+            this.salary = salary;
+            this.age = age;
+        }
+
+        // The real API sends numbers as strings
+        private void write(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", id);
+            generator.writeStringField("employee_name", name);
+            generator.writeStringField("employee_salary", Long.toString(salary));
+            generator.writeStringField("employee_age", Integer.toString(age));
+            generator.writeStringField("profile_image", "");
+            generator.writeEndObject();
+        }
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            map.put("requests", requests.sum());
+            map.put("ok", ok.sum());
+            map.put("throttled", throttled.sum());
+            map.put("errors", errors.sum());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.rqchallenge.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe latency samples of one request kind, with nearest-rank percentiles. Keeps every sample, which at
+ * load-test rates is a few megabytes per minute.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the given percentiles in nanoseconds, or zeros if nothing was recorded.
+     */
+    synchronized long[] percentiles(double... percentiles) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length && count > 0; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+            values[i] = sorted[Math.max(rank, 1) - 1];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.rqchallenge.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the {@code /api/v1/employee} endpoints.
+ * <p>
+ * Requests are started on a fixed schedule of {@code rps} per second, whether or not earlier ones have completed,
+ * and each latency is measured from its scheduled start, so a stalled server shows up in the percentiles instead
+ * of lowering the request rate. Requests during the warm-up are sent but not recorded. With {@code --upstream}
+ * pointing at a {@link FakeUpstreamServer}, the upstream calls made during the run are reported as well.
+ * <p>
+ * Options: {@code --target=http://localhost:8080 --rps=100 --duration=60s --warmup=10s
+ * --mix=employees:1,by-id:5,search:2,highest-salary:1,top-ten:1 --ids=1000 --search=an --max-in-flight=2000
+ * --upstream=http://localhost:9090}. The mix also accepts {@code create} and {@code delete}.
+ */
+public final class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String target;
+    private final int rps;
+    private final Duration duration;
+    private final Duration warmup;
+    private final List<String> kinds = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final int ids;
+    private final String searchTerm;
+    private final int maxInFlight;
+    private final String upstream;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final HttpClient client;
+
+    private final Map<String, LatencyRecorder> latencies = new LinkedHashMap<>();
+    private final ConcurrentMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    LoadGenerator(Options options) {
+        this.target = options.get("target", "http://localhost:8080") + "/api/v1/employee";
+        this.rps = options.getInt("rps", 100);
+        this.duration = options.getDuration("duration", Duration.ofSeconds(60));
+        this.warmup = options.getDuration("warmup", Duration.ofSeconds(10));
+        this.ids = options.getInt("ids", 1000);
+        this.searchTerm = options.get("search", "an");
+        this.maxInFlight = options.getInt("max-in-flight", 2000);
+        this.upstream = options.get("upstream", null);
+
+        String[] entries = options.get("mix", "employees:1,by-id:5,search:2,highest-salary:1,top-ten:1").split(",");
+        this.cumulativeWeights = new int[entries.length];
+        int total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].split(":");
+            kinds.add(entry[0]);
+            total += entry.length > 1 ? Integer.parseInt(entry[1]) : 1;
+            cumulativeWeights[i] = total;
+            latencies.put(entry[0], new LatencyRecorder());
+            request(entry[0]);
+        }
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadGenerator(new Options(args)).run();
+    }
+
+
+    void run() throws IOException, InterruptedException {
+        Map<String, Map<String, Long>> upstreamBefore = upstreamStats();
+        System.out.printf("Sending %d req/s to %s for %ds after a %ds warm-up%n",
+                rps, target, duration.getSeconds(), warmup.getSeconds());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            send(pickKind(), scheduled, scheduled >= recordFrom);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        report(upstreamBefore, upstreamStats());
+        executor.shutdownNow();
+    }
+
+    private void send(String kind, long scheduled, boolean record) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request(kind), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - scheduled;
+                    inFlight.decrementAndGet();
+                    if (!record) {
+                        return;
+                    }
+                    latencies.get(kind).record(latency);
+                    if (error != null) {
+                        failed.increment();
+                    } else {
+                        statuses.computeIfAbsent(kind + " " + response.statusCode(), key -> new LongAdder()).increment();
+                    }
+                });
+    }
+
+    private String pickKind() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return kinds.get(i);
+            }
+        }
+        return kinds.get(kinds.size() - 1);
+    }
+
+    private HttpRequest request(String kind) {
+        int id = 1 + ThreadLocalRandom.current().nextInt(ids);
+        switch (kind) {
+            case "employees":
+                return get("/employees");
+            case "by-id":
+                return get("/" + id);
+            case "search":
+                return get("/search?searchString=" + searchTerm);
+            case "highest-salary":
+                return get("/highestSalary");
+            case "top-ten":
+                return get("/topTenHighestEarning");
+            case "create":
+                return HttpRequest.newBuilder(URI.create(target + "/create"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Test\",\"salary\":\"50000\",\"age\":\"30\"}"))
+                        .build();
+            case "delete":
+                return HttpRequest.newBuilder(URI.create(target + "/delete/" + id)).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unknown request kind " + kind);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).GET().build();
+    }
+
+    private Map<String, Map<String, Long>> upstreamStats() throws IOException, InterruptedException {
+        if (upstream == null) {
+            return null;
+        }
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(upstream + "/__stats")).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readValue(response.body(), new TypeReference<Map<String, Map<String, Long>>>() {
+        });
+    }
+
+    private void report(Map<String, Map<String, Long>> upstreamBefore, Map<String, Map<String, Long>> upstreamAfter) {
+        System.out.printf("%n%-16s %9s %10s %10s %10s %10s%n", "request", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : latencies.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            long[] values = recorder.percentiles(PERCENTILES);
+            total += recorder.getCount();
+            System.out.printf("%-16s %9d %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(), recorder.getCount(),
+                    values[0] / 1e6, values[1] / 1e6, values[2] / 1e6, values[3] / 1e6);
+        }
+        System.out.printf("%nThroughput %.1f req/s, %d dropped at the in-flight limit, %d failed to connect%n",
+                total / (double) duration.getSeconds(), dropped.sum(), failed.sum());
+
+        System.out.println("\nResponses:");
+        new java.util.TreeMap<>(statuses).forEach((key, count) -> System.out.printf("  %-24s %9d%n", key, count.sum()));
+
+        if (upstreamBefore != null && upstreamAfter != null) {
+            System.out.println("\nUpstream calls (including warm-up):");
+            upstreamAfter.forEach((endpoint, after) -> {
+                Map<String, Long> before = upstreamBefore.getOrDefault(endpoint, Map.of());
+                StringBuilder line = new StringBuilder(String.format("  %-12s", endpoint));
+                after.forEach((counter, value) -> line.append(String.format(" %s=%d", counter, value - before.getOrDefault(counter, 0L))));
+                System.out.println(line);
+            });
+        }
+    }
+}
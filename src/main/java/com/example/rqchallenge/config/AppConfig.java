@@ -1,15 +1,96 @@
 package com.example.rqchallenge.config;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 @Configuration
 public class AppConfig {
 
+    /**
+     * Connection pool shared by all upstream calls. Connections are kept alive between requests and
+     * re-validated after sitting idle.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            @Value("${employee.service.http.max-connections:200}") int maxConnections,
+            @Value("${employee.service.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${employee.service.http.connection-ttl:5m}") Duration connectionTtl) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(connectionTtl.toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+        return connectionManager;
+    }
+
+    /**
+     * Apache HttpClient backed by the upstream pool. Responses are transparently decompressed when the
+     * upstream honours the {@code Accept-Encoding: gzip, deflate} header the client sends.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${employee.service.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${employee.service.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${employee.service.http.connection-request-timeout:1s}") Duration connectionRequestTimeout,
+            @Value("${employee.service.http.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${employee.service.http.keep-alive:60s}") Duration keepAlive) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? serverKeepAlive : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient upstreamHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(upstreamHttpClient));
+    }
+
+    /**
+     * Bounded pool running the by-id, create and delete upstream calls in async execution mode, so servlet
+     * threads are released while those calls are in flight. Submissions beyond the queue are rejected.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "employee.service.execution-mode", havingValue = "async")
+    public ExecutorService upstreamExecutor(
+            @Value("${employee.service.async.pool-size:32}") int poolSize,
+            @Value("${employee.service.async.queue-capacity:10000}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "employee-upstream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 }
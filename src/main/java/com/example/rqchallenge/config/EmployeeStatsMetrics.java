@@ -0,0 +1,197 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.employees.cache.CacheStats;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamLimiter;
+import com.example.rqchallenge.employees.persistence.EmployeeBatchLoader;
+import com.example.rqchallenge.employees.persistence.EmployeeWriteBehindQueue;
+import com.example.rqchallenge.employees.service.EmployeeLookupService;
+import com.example.rqchallenge.employees.sync.EmployeeSyncScheduler;
+import com.example.rqchallenge.employees.sync.SyncStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters the cache, by-id lookups, sync, write-behind queue, upstream limits, circuit breaker and
+ * connection pool already keep as Micrometer meters. Nothing is recorded here; every value is read from its owner when the
+ * registry is scraped.
+ * <p>
+ * Registered after construction rather than as a {@code MeterBinder} bean, since the cache and write-behind queue
+ * depend on the registry themselves and binding them while the registry is created would be circular.
+ */
+@Component
+public class EmployeeStatsMetrics {
+
+    private static final String[] UPSTREAM_ENDPOINTS =
+            {UpstreamLimiter.LIST, UpstreamLimiter.BY_ID, UpstreamLimiter.CREATE, UpstreamLimiter.DELETE};
+
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeLookupService lookupService;
+    private final EmployeeBatchLoader batchLoader;
+    private final EmployeeSyncScheduler syncScheduler;
+    private final EmployeeWriteBehindQueue writeBehindQueue;
+    private final UpstreamLimiter limiter;
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final UpstreamPoolMetrics poolMetrics;
+    private final MeterRegistry registry;
+
+    public EmployeeStatsMetrics(EmployeeSnapshotCache snapshotCache,
+                                EmployeeLookupService lookupService,
+                                EmployeeBatchLoader batchLoader,
+                                EmployeeSyncScheduler syncScheduler,
+                                EmployeeWriteBehindQueue writeBehindQueue,
+                                UpstreamLimiter limiter,
+                                UpstreamCircuitBreaker circuitBreaker,
+                                UpstreamPoolMetrics poolMetrics,
+                                MeterRegistry registry) {
+        this.snapshotCache = snapshotCache;
+        this.lookupService = lookupService;
+        this.batchLoader = batchLoader;
+        this.syncScheduler = syncScheduler;
+        this.writeBehindQueue = writeBehindQueue;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.poolMetrics = poolMetrics;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void register() {
+        bindCache(registry);
+        bindLookup(registry);
+        bindSync(registry);
+        bindWriteBehind(registry);
+        bindUpstream(registry);
+    }
+
+
+    private void bindCache(MeterRegistry registry) {
+        cacheCounter(registry, "employee.cache.requests", "result", "hit", CacheStats::getHits);
+        cacheCounter(registry, "employee.cache.requests", "result", "stale", CacheStats::getStaleHits);
+        cacheCounter(registry, "employee.cache.requests", "result", "miss", CacheStats::getMisses);
+        cacheCounter(registry, "employee.cache.refreshes", "outcome", "success", CacheStats::getRefreshes);
+        cacheCounter(registry, "employee.cache.refreshes", "outcome", "failure", CacheStats::getRefreshFailures);
+        Gauge.builder("employee.cache.snapshot.version", snapshotCache, cache -> cache.getStats().getSnapshotVersion())
+                .register(registry);
+        Gauge.builder("employee.cache.snapshot.size", snapshotCache, cache -> cache.getStats().getSnapshotSize())
+                .baseUnit("employees")
+                .register(registry);
+    }
+
+    private void cacheCounter(MeterRegistry registry, String name, String tag, String value,
+                              ToDoubleFunction<CacheStats> stat) {
+        FunctionCounter.builder(name, snapshotCache, cache -> stat.applyAsDouble(cache.getStats()))
+                .tag(tag, value)
+                .register(registry);
+    }
+
+    private void bindLookup(MeterRegistry registry) {
+        lookupCounter(registry, "snapshot", EmployeeLookupService::getSnapshotHitCount);
+        lookupCounter(registry, "not-found", EmployeeLookupService::getNotFoundHitCount);
+        lookupCounter(registry, "database", EmployeeLookupService::getDatabaseHitCount);
+        lookupCounter(registry, "upstream", EmployeeLookupService::getUpstreamLookupCount);
+        FunctionCounter.builder("employee.lookup.database.queries", batchLoader, EmployeeBatchLoader::getQueryCount)
+                .register(registry);
+        FunctionCounter.builder("employee.lookup.database.ids", batchLoader, EmployeeBatchLoader::getLoadedCount)
+                .register(registry);
+    }
+
+    private void lookupCounter(MeterRegistry registry, String source, ToDoubleFunction<EmployeeLookupService> count) {
+        FunctionCounter.builder("employee.lookup.requests", lookupService, count)
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private void bindSync(MeterRegistry registry) {
+        syncCounter(registry, "success", SyncStats::getSuccesses);
+        syncCounter(registry, "failure", SyncStats::getFailures);
+        syncCounter(registry, "rate-limited", SyncStats::getRateLimited);
+        Gauge.builder("employee.sync.consecutive-failures", syncScheduler, sync -> sync.getStats().getConsecutiveFailures())
+                .register(registry);
+        Gauge.builder("employee.sync.last-success.age", syncScheduler, sync -> seconds(sync.getStats().getLastSyncAge()))
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("employee.sync.last.duration", syncScheduler, sync -> seconds(sync.getStats().getLastSyncDuration()))
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private void syncCounter(MeterRegistry registry, String outcome, ToDoubleFunction<SyncStats> stat) {
+        FunctionCounter.builder("employee.sync.runs", syncScheduler, sync -> stat.applyAsDouble(sync.getStats()))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private void bindWriteBehind(MeterRegistry registry) {
+        Gauge.builder("employee.write-behind.queue.depth", writeBehindQueue, EmployeeWriteBehindQueue::getQueueDepth)
+                .register(registry);
+        writeBehindCounter(registry, "enqueued", EmployeeWriteBehindQueue::getEnqueuedCount);
+        writeBehindCounter(registry, "skipped", EmployeeWriteBehindQueue::getSkippedCount);
+        writeBehindCounter(registry, "dropped", EmployeeWriteBehindQueue::getDroppedCount);
+        writeBehindCounter(registry, "saved", EmployeeWriteBehindQueue::getFlushedCount);
+        writeBehindCounter(registry, "deleted", EmployeeWriteBehindQueue::getDeletedCount);
+        FunctionCounter.builder("employee.write-behind.flush.failures", writeBehindQueue,
+                        EmployeeWriteBehindQueue::getFlushFailureCount)
+                .register(registry);
+    }
+
+    private void writeBehindCounter(MeterRegistry registry, String result,
+                                    ToDoubleFunction<EmployeeWriteBehindQueue> count) {
+        FunctionCounter.builder("employee.write-behind.writes", writeBehindQueue, count)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void bindUpstream(MeterRegistry registry) {
+        for (String endpoint : UPSTREAM_ENDPOINTS) {
+            UpstreamLimiter.Limit limit = limiter.limit(endpoint);
+            FunctionCounter.builder("employee.upstream.limiter.rejections", limit, UpstreamLimiter.Limit::getRateLimitedCount)
+                    .tag("endpoint", endpoint)
+                    .tag("reason", "rate")
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.limiter.rejections", limit, UpstreamLimiter.Limit::getBulkheadFullCount)
+                    .tag("endpoint", endpoint)
+                    .tag("reason", "concurrency")
+                    .register(registry);
+            Gauge.builder("employee.upstream.limiter.available-slots", limit, UpstreamLimiter.Limit::getAvailableSlots)
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+
+        for (UpstreamCircuitBreaker.State state : UpstreamCircuitBreaker.State.values()) {
+            Gauge.builder("employee.upstream.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("employee.upstream.circuit-breaker.rejections", circuitBreaker,
+                        UpstreamCircuitBreaker::getRejectedCount)
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.circuit-breaker.opened", circuitBreaker,
+                        UpstreamCircuitBreaker::getOpenedCount)
+                .register(registry);
+
+        poolGauge(registry, "leased", UpstreamPoolMetrics::getLeased);
+        poolGauge(registry, "idle", UpstreamPoolMetrics::getIdle);
+        poolGauge(registry, "pending", UpstreamPoolMetrics::getPending);
+        poolGauge(registry, "max", UpstreamPoolMetrics::getMax);
+    }
+
+    private void poolGauge(MeterRegistry registry, String state, ToDoubleFunction<UpstreamPoolMetrics> value) {
+        Gauge.builder("employee.upstream.pool.connections", poolMetrics, value)
+                .tag("state", state)
+                .register(registry);
+    }
+
+    // NaN tells the registry there is no value yet
+    private static double seconds(Duration duration) {
+        return duration != null ? duration.toNanos() / 1e9 : Double.NaN;
+    }
+}
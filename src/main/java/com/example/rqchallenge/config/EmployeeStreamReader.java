@@ -0,0 +1,114 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link Employee} objects straight from a Jackson token stream, without an intermediate tree.
+ */
+public final class EmployeeStreamReader {
+
+    private EmployeeStreamReader() {
+    }
+
+    /**
+     * Reads the {@code data} value the parser is positioned on, either an array of employees or a single
+     * employee object, and hands each employee to the consumer as soon as it is complete.
+     *
+     * @param parser   a parser whose current token is {@code START_ARRAY} or {@code START_OBJECT}
+     * @param consumer receives every employee in document order
+     * @return the number of employees read
+     */
+    public static int readEmployees(JsonParser parser, Consumer<Employee> consumer) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            consumer.accept(readEmployee(parser));
+            return 1;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw JsonMappingException.from(parser, "Expected employee array or object but found " + token);
+        }
+
+        int count = 0;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                consumer.accept(readEmployee(parser));
+                count++;
+            } else if (token == null) {
+                throw JsonMappingException.from(parser, "Unexpected end of input in employee array");
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Streams the employees in the {@code data} field of an upstream response body; other fields are skipped.
+     *
+     * @param body     the raw response body
+     * @param factory  the JSON factory to create the parser with
+     * @param consumer receives every employee in document order
+     * @return the number of employees read
+     */
+    public static int readResponse(InputStream body, JsonFactory factory, Consumer<Employee> consumer) throws IOException {
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "Expected employee response object");
+            }
+
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value != JsonToken.VALUE_NULL) {
+                    count += readEmployees(parser, consumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return count;
+        }
+    }
+
+
+    private static Employee readEmployee(JsonParser parser) throws IOException {
+        String id = "";
+        String name = "";
+        long salary = 0;
+        int age = 0;
+        String profileImage = "";
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = parser.getValueAsString();
+                    break;
+                case "employee_name":
+                    name = parser.getValueAsString();
+                    break;
+                case "employee_salary":
+                    salary = parser.getValueAsLong();
+                    break;
+                case "employee_age":
+                    age = parser.getValueAsInt();
+                    break;
+                case "profile_image":
+                    profileImage = parser.getValueAsString("");
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new Employee(id, name, salary, age, profileImage);
+    }
+}
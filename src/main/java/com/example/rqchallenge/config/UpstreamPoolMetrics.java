@@ -0,0 +1,47 @@
+package com.example.rqchallenge.config;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only view of the upstream connection pool.
+ */
+@Component
+public class UpstreamPoolMetrics {
+
+    private final PoolingHttpClientConnectionManager upstreamConnectionManager;
+
+    public UpstreamPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        this.upstreamConnectionManager = upstreamConnectionManager;
+    }
+
+    /**
+     * Connections currently handed out to in-flight requests.
+     */
+    public int getLeased() {
+        return stats().getLeased();
+    }
+
+    /**
+     * Kept-alive connections waiting in the pool for reuse.
+     */
+    public int getIdle() {
+        return stats().getAvailable();
+    }
+
+    /**
+     * Requests waiting for a connection to become available.
+     */
+    public int getPending() {
+        return stats().getPending();
+    }
+
+    public int getMax() {
+        return stats().getMax();
+    }
+
+    private PoolStats stats() {
+        return upstreamConnectionManager.getTotalStats();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRequest;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.exception.UpstreamException;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Async counterpart of {@link EmployeeController}, active when {@code employee.service.execution-mode=async}.
+ * <p>
+ * Same paths, parameters and response bodies, but every endpoint returns a {@link CompletableFuture} so the
+ * servlet thread goes back to the container straight away. Reads complete from the snapshot cache, or on the
+ * bounded upstream executor once the shared snapshot refresh they waited for is done; by-id, create and delete
+ * run on that executor too.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@ConditionalOnProperty(name = "employee.service.execution-mode", havingValue = "async")
+public class AsyncEmployeeController {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(AsyncEmployeeController.class);
+    private final EmployeeService employeeService;
+    private final ExecutorService upstreamExecutor;
+
+    public AsyncEmployeeController(EmployeeService employeeService,
+                                   @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor) {
+        this.employeeService = employeeService;
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    @GetMapping("/employees")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        String etag = employeeService.getEmployeesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return CompletableFuture.completedFuture(ConditionalGet.notModified(etag));
+        }
+        return employeeService.getAllEmployeesAsync(upstreamExecutor)
+                .thenApply(employees -> ConditionalGet.ok(etag, employees))
+                .exceptionally(e -> serverError("fetching all employees", e));
+    }
+
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@RequestParam("searchString") String searchString) {
+        return employeeService.getEmployeesByNameSearchAsync(searchString, upstreamExecutor)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> serverError("searching employees by name", e));
+    }
+
+    @GetMapping(value = "/search", params = "limit")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@RequestParam("searchString") String searchString,
+                                                                                      @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                                                      @RequestParam("limit") int limit) {
+        if (offset < 0 || limit < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return employeeService.getEmployeesByNameSearchAsync(searchString, offset, limit, upstreamExecutor)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> serverError("searching employees by name", e));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return onUpstreamExecutor(() -> employeeService.getEmployeeById(id))
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> serverError("fetching employee by ID", e));
+    }
+
+    @GetMapping("/highestSalary")
+    public CompletableFuture<ResponseEntity<Long>> getHighestSalaryOfEmployees() {
+        String etag = employeeService.getAggregatesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return CompletableFuture.completedFuture(ConditionalGet.notModified(etag));
+        }
+        return employeeService.getHighestSalaryOfEmployeesAsync(upstreamExecutor)
+                .thenApply(highestSalary -> ConditionalGet.ok(etag, highestSalary))
+                .exceptionally(e -> serverError("fetching the highest salary of employees", e));
+    }
+
+    @GetMapping("/topTenHighestEarning")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return getTopHighestEarningEmployeeNames(10);
+    }
+
+    @GetMapping("/topHighestEarning")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(@RequestParam(value = "k", defaultValue = "10") int k) {
+        if (k < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        String etag = employeeService.getAggregatesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return CompletableFuture.completedFuture(ConditionalGet.notModified(etag));
+        }
+        return employeeService.getTopHighestEarningEmployeeNamesAsync(k, upstreamExecutor)
+                .thenApply(topNames -> ConditionalGet.ok(etag, topNames))
+                .exceptionally(e -> serverError("fetching the top highest earning employee names", e));
+    }
+
+    @PostMapping("/create")
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput) {
+        EmployeeRequest employeeRequest = EmployeeRequest.builder()
+                .setAge((String) employeeInput.get("age"))
+                .setName((String) employeeInput.get("name"))
+                .setSalary((String) employeeInput.get("salary"))
+                .build();
+
+        return onUpstreamExecutor(() -> employeeService.createEmployee(employeeRequest))
+                .thenApply(createdEmployee -> createdEmployee != null
+                        ? ResponseEntity.ok(createdEmployee)
+                        : ResponseEntity.status(500).<Employee>build())
+                .exceptionally(e -> serverError("creating employee", e));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return onUpstreamExecutor(() -> employeeService.deleteEmployee(id))
+                .thenApply(employeeName -> employeeName != null
+                        ? ResponseEntity.ok("Employee " + employeeName + " deleted successfully")
+                        : ResponseEntity.status(500).body("Failed to delete employee"))
+                .exceptionally(e -> {
+                    if (upstreamRejection(e) != null) {
+                        return rejected(upstreamRejection(e));
+                    }
+                    log.error("Error occurred while deleting employee: {}", e.getMessage());
+                    return ResponseEntity.status(500).body("Failed to delete employee");
+                });
+    }
+
+
+    private <T> CompletableFuture<T> onUpstreamExecutor(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, upstreamExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> ResponseEntity<T> serverError(String action, Throwable e) {
+        UpstreamException rejection = upstreamRejection(e);
+        if (rejection != null) {
+            return rejected(rejection);
+        }
+        log.error("Error occurred while {}: {}", action, e.getMessage());
+        return ResponseEntity.status(500).build();
+    }
+
+    private static UpstreamException upstreamRejection(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof UpstreamException ? (UpstreamException) cause : null;
+    }
+
+    private static <T> ResponseEntity<T> rejected(UpstreamException e) {
+        log.warn("Upstream failure: {}", e.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        e.getRetryAfter()
+                .ifPresent(retryAfter -> response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.getSeconds())));
+        return response.build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET support for the employee controllers, whose handler signatures are fixed by
+ * {@link IEmployeeController} and therefore take the current request from {@link RequestContextHolder}.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Checks the current request's {@code If-None-Match} header against the ETag.
+     *
+     * @param etag the ETag of the current representation, may be null
+     * @return true if the client's copy is current and a 304 should be sent instead of a body
+     */
+    static boolean isNotModified(String etag) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (etag == null || !(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        ServletRequestAttributes servletAttributes = (ServletRequestAttributes) attributes;
+        return new ServletWebRequest(servletAttributes.getRequest(), servletAttributes.getResponse()).checkNotModified(etag);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * A 200 response carrying the ETag, if there is one.
+     */
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(body) : ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.AgeBand;
+import com.example.rqchallenge.employees.model.SalaryStatistics;
+import com.example.rqchallenge.employees.service.EmployeeAnalyticsService;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Salary and age analytics of all employees, answering conditional GETs like the other aggregates. Active in
+ * both execution modes.
+ */
+@RestController
+@RequestMapping("/api/v1/employee/analytics")
+public class EmployeeAnalyticsController {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeAnalyticsController.class);
+    private final EmployeeAnalyticsService employeeAnalyticsService;
+
+    public EmployeeAnalyticsController(EmployeeAnalyticsService employeeAnalyticsService) {
+        this.employeeAnalyticsService = employeeAnalyticsService;
+    }
+
+    @GetMapping("/salary")
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics(@RequestParam(value = "buckets", defaultValue = "10") int buckets) {
+        try {
+            // Validated first, an invalid request must not get a 304 for the client's cached copy
+            EmployeeAnalyticsService.checkBuckets(buckets);
+            String etag = employeeAnalyticsService.getETag();
+            if (ConditionalGet.isNotModified(etag)) {
+                return ConditionalGet.notModified(etag);
+            }
+            return ConditionalGet.ok(etag, employeeAnalyticsService.getSalaryStatistics(buckets));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid salary statistics request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/age-bands")
+    public ResponseEntity<List<AgeBand>> getAgeBands(@RequestParam(value = "width", defaultValue = "10") int width) {
+        try {
+            EmployeeAnalyticsService.checkWidth(width);
+            String etag = employeeAnalyticsService.getETag();
+            if (ConditionalGet.isNotModified(etag)) {
+                return ConditionalGet.notModified(etag);
+            }
+            return ConditionalGet.ok(etag, employeeAnalyticsService.getAgeBands(width));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid age band request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
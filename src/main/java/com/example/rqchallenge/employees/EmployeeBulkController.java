@@ -0,0 +1,68 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.BulkItemResult;
+import com.example.rqchallenge.employees.model.BulkResponse;
+import com.example.rqchallenge.employees.model.EmployeeRequest;
+import com.example.rqchallenge.employees.service.EmployeeBulkService;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Batch variants of {@code POST /create} and {@code DELETE /delete/{id}}. Answers 200 when every item succeeded
+ * and 207 with the per-item statuses otherwise. Active in both execution modes.
+ */
+@RestController
+@RequestMapping("/api/v1/employee/bulk")
+public class EmployeeBulkController {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeBulkController.class);
+    private final EmployeeBulkService employeeBulkService;
+
+    public EmployeeBulkController(EmployeeBulkService employeeBulkService) {
+        this.employeeBulkService = employeeBulkService;
+    }
+
+    @PostMapping("/create")
+    public ResponseEntity<BulkResponse> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs) {
+        List<EmployeeRequest> employeeRequests = new ArrayList<>(employeeInputs.size());
+        for (Map<String, Object> employeeInput : employeeInputs) {
+            employeeRequests.add(EmployeeRequest.builder()
+                    .setAge(Objects.toString(employeeInput.get("age"), null))
+                    .setName(Objects.toString(employeeInput.get("name"), null))
+                    .setSalary(Objects.toString(employeeInput.get("salary"), null))
+                    .build());
+        }
+        try {
+            return respond(employeeBulkService.createEmployees(employeeRequests));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk create request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/delete")
+    public ResponseEntity<BulkResponse> deleteEmployees(@RequestBody List<String> ids) {
+        try {
+            return respond(employeeBulkService.deleteEmployees(ids));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid bulk delete request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+
+    private static ResponseEntity<BulkResponse> respond(List<BulkItemResult> results) {
+        BulkResponse response = new BulkResponse(results);
+        return ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS).body(response);
+    }
+}
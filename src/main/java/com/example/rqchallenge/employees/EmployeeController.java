@@ -3,8 +3,7 @@ package com.example.rqchallenge.employees;
 import com.example.rqchallenge.employees.model.Employee;
 import com.example.rqchallenge.employees.model.EmployeeRequest;
 import com.example.rqchallenge.employees.service.EmployeeService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +13,9 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/employee")
+@ConditionalOnProperty(name = "employee.service.execution-mode", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController {
 
-    private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
     private final EmployeeService employeeService;
 
     public EmployeeController(EmployeeService employeeService) {
@@ -26,82 +25,88 @@ public class EmployeeController implements IEmployeeController {
     @Override
     @GetMapping("/employees")
     public ResponseEntity<List<Employee>> getAllEmployees() throws IOException {
-        try {
-            List<Employee> employees = employeeService.getAllEmployees();
-            return ResponseEntity.ok(employees);
-        } catch (Exception e) {
-            log.error("Error occurred while fetching all employees: {}", e.getMessage());
-            return ResponseEntity.status(500).build();
+        String etag = employeeService.getEmployeesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return ConditionalGet.notModified(etag);
         }
+        List<Employee> employees = employeeService.getAllEmployees();
+        return ConditionalGet.ok(etag, employees);
     }
 
     @Override
     @GetMapping("/search")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@RequestParam("searchString") String searchString) {
-        try {
-            List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
-            return ResponseEntity.ok(employees);
-        } catch (Exception e) {
-            log.error("Error occurred while searching employees by name: {}", e.getMessage());
-            return ResponseEntity.status(500).build();
+        List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
+        return ResponseEntity.ok(employees);
+    }
+
+    @GetMapping(value = "/search", params = "limit")
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@RequestParam("searchString") String searchString,
+                                                                   @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                                   @RequestParam("limit") int limit) {
+        if (offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
         }
+        List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString, offset, limit);
+        return ResponseEntity.ok(employees);
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
-        try {
-            Employee employee = employeeService.getEmployeeById(id);
-            return ResponseEntity.ok(employee);
-        } catch (Exception e) {
-            log.error("Error occurred while fetching employee by ID: {}", e.getMessage());
-            return ResponseEntity.status(500).build();
-        }
+        Employee employee = employeeService.getEmployeeById(id);
+        return ResponseEntity.ok(employee);
     }
 
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Long> getHighestSalaryOfEmployees() {
-        try {
-            Long highestSalary = employeeService.getHighestSalaryOfEmployees();
-            return ResponseEntity.ok(highestSalary);
-        } catch (Exception e) {
-            log.error("Error occurred while fetching the highest salary of employees: {}", e.getMessage());
-            return ResponseEntity.status(500).build();
+        String etag = employeeService.getAggregatesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return ConditionalGet.notModified(etag);
         }
+        Long highestSalary = employeeService.getHighestSalaryOfEmployees();
+        return ConditionalGet.ok(etag, highestSalary);
     }
 
     @Override
     @GetMapping("/topTenHighestEarning")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        try {
-            List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
-            return ResponseEntity.ok(topTenNames);
-        } catch (Exception e) {
-            log.error("Error occurred while fetching the top ten highest earning employee names: {}", e.getMessage());
-            return ResponseEntity.status(500).build();
+        String etag = employeeService.getAggregatesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return ConditionalGet.notModified(etag);
         }
+        List<String> topTenNames = employeeService.getTopTenHighestEarningEmployeeNames();
+        return ConditionalGet.ok(etag, topTenNames);
+    }
+
+    @GetMapping("/topHighestEarning")
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam(value = "k", defaultValue = "10") int k) {
+        if (k < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = employeeService.getAggregatesETag();
+        if (ConditionalGet.isNotModified(etag)) {
+            return ConditionalGet.notModified(etag);
+        }
+        List<String> topNames = employeeService.getTopHighestEarningEmployeeNames(k);
+        return ConditionalGet.ok(etag, topNames);
     }
 
     @Override
     @PostMapping("/create")
     public ResponseEntity<Employee> createEmployee(Map<String, Object> employeeInput) {
-        try {
-            EmployeeRequest employeeRequest = EmployeeRequest.builder()
-                    .setAge((String) employeeInput.get("age"))
-                    .setName((String) employeeInput.get("name"))
-                    .setSalary((String) employeeInput.get("salary"))
-                    .build();
-
-            Employee createdEmployee = employeeService.createEmployee(employeeRequest);
-
-            if (createdEmployee != null) {
-                return ResponseEntity.ok(createdEmployee);
-            } else {
-                return ResponseEntity.status(500).build();
-            }
-        } catch (Exception e) {
-            log.error("Error occurred while creating employee: {}", e.getMessage());
+        EmployeeRequest employeeRequest = EmployeeRequest.builder()
+                .setAge((String) employeeInput.get("age"))
+                .setName((String) employeeInput.get("name"))
+                .setSalary((String) employeeInput.get("salary"))
+                .build();
+
+        Employee createdEmployee = employeeService.createEmployee(employeeRequest);
+
+        if (createdEmployee != null) {
+            return ResponseEntity.ok(createdEmployee);
+        } else {
             return ResponseEntity.status(500).build();
         }
     }
@@ -109,15 +114,10 @@ public class EmployeeController implements IEmployeeController {
     @Override
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        try {
-            String employeeName = employeeService.deleteEmployee(id);
-            if (employeeName != null) {
-                return ResponseEntity.ok("Employee " + employeeName + " deleted successfully");
-            } else {
-                return ResponseEntity.status(500).body("Failed to delete employee");
-            }
-        } catch (Exception e) {
-            log.error("Error occurred while deleting employee: {}", e.getMessage());
+        String employeeName = employeeService.deleteEmployee(id);
+        if (employeeName != null) {
+            return ResponseEntity.ok("Employee " + employeeName + " deleted successfully");
+        } else {
             return ResponseEntity.status(500).body("Failed to delete employee");
         }
     }
@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.EmployeePage;
+import com.example.rqchallenge.employees.service.EmployeeQueryService;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Paged variants of {@code GET /employees} and {@code GET /search}, selected by the {@code size} parameter.
+ * <p>
+ * Supports {@code page} or {@code cursor} pagination, {@code sort=<field>[,asc|desc]} over id, name, salary and
+ * age, and a {@code fields=} projection. Active in both execution modes.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+public class EmployeePageController {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeePageController.class);
+    private final EmployeeQueryService employeeQueryService;
+
+    public EmployeePageController(EmployeeQueryService employeeQueryService) {
+        this.employeeQueryService = employeeQueryService;
+    }
+
+    @GetMapping(value = "/employees", params = "size")
+    public ResponseEntity<EmployeePage> getEmployeesPage(@RequestParam("size") int size,
+                                                         @RequestParam(value = "page", defaultValue = "0") int page,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "sort", required = false) String sort,
+                                                         @RequestParam(value = "fields", required = false) String fields) {
+        return getPage(null, page, size, cursor, sort, fields);
+    }
+
+    @GetMapping(value = "/search", params = "size")
+    public ResponseEntity<EmployeePage> searchEmployeesPage(@RequestParam("searchString") String searchString,
+                                                            @RequestParam("size") int size,
+                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "sort", required = false) String sort,
+                                                            @RequestParam(value = "fields", required = false) String fields) {
+        return getPage(searchString, page, size, cursor, sort, fields);
+    }
+
+
+    private ResponseEntity<EmployeePage> getPage(String searchString, int page, int size, String cursor, String sort, String fields) {
+        try {
+            return ResponseEntity.ok(employeeQueryService.getPage(searchString, page, size, cursor, sort, fields));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid employee page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
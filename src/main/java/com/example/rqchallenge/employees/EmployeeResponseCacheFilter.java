@@ -0,0 +1,310 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the hot JSON reads from response bytes encoded once per snapshot version.
+ * <p>
+ * The first 200 response for a URL is captured and stored under the snapshot ETag read before the request was
+ * handled. The URL is keyed by its path and only the parameters its endpoint reads, sorted and with numbers in
+ * canonical form, so cache-busting or reordered parameters cannot each store another copy of the same body;
+ * requests with any other parameter are not cached at all. Later requests for the same URL and ETag are written straight from those bytes,
+ * gzip-encoded for clients that accept it, without reaching the controller or Jackson. All entries are dropped
+ * as soon as a newer snapshot version is seen; requests still carrying an older ETag bypass the cache. Beyond
+ * {@code max-entries} URLs, or {@code max-bytes} of plain and gzip-encoded bodies together, the least recently
+ * used URLs are evicted, so searches do not crowd out the hot reads.
+ * Requests whose data is not versioned (database reads) and the NDJSON variant of {@code /employees} pass
+ * through untouched.
+ */
+@Component
+public class EmployeeResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/api/v1/employee";
+    private static final String ETAG_ATTRIBUTE = EmployeeResponseCacheFilter.class.getName() + ".ETAG";
+    private static final String KEY_ATTRIBUTE = EmployeeResponseCacheFilter.class.getName() + ".KEY";
+    // The parameters each cached endpoint reads; offset only counts together with limit
+    private static final Map<String, Set<String>> KEY_PARAMETERS = Map.of(
+            "/employees", Set.of(),
+            "/search", Set.of("searchString", "offset", "limit"),
+            "/highestSalary", Set.of(),
+            "/topTenHighestEarning", Set.of(),
+            "/topHighestEarning", Set.of("k"));
+    private static final Set<String> NUMERIC_PARAMETERS = Set.of("offset", "limit", "k");
+
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int maxEntryBytes;
+    private final long maxBytes;
+    // In access order, for LRU eviction; guarded by this, as is totalBytes
+    private final LinkedHashMap<String, CachedBody> bodies = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    // Snapshot ETag the cached bodies belong to
+    private volatile String cachedETag;
+
+    public EmployeeResponseCacheFilter(EmployeeService employeeService,
+                                       @Value("${employee.service.response-cache.enabled:true}") boolean enabled,
+                                       @Value("${employee.service.response-cache.max-entries:256}") int maxEntries,
+                                       @Value("${employee.service.response-cache.max-entry-bytes:67108864}") int maxEntryBytes,
+                                       @Value("${employee.service.response-cache.max-bytes:268435456}") long maxBytes) {
+        this.employeeService = employeeService;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = (int) Math.min(maxEntryBytes, maxBytes);
+        this.maxBytes = maxBytes;
+    }
+
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod()) || resource(request) == null) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "true".equals(request.getParameter("stream")) || (accept != null && accept.contains("ndjson"));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = cacheKey(resource(request), request.getParameterMap());
+        HttpServletResponse responseToUse = response;
+
+        if (key != null && !isAsyncDispatch(request)) {
+            String etag = "/employees".equals(resource(request))
+                    ? employeeService.getEmployeesETag()
+                    : employeeService.getAggregatesETag();
+            if (etag != null) {
+                CachedBody cached = lookup(key, etag);
+                if (cached != null) {
+                    write(request, response, cached);
+                    return;
+                }
+                request.setAttribute(KEY_ATTRIBUTE, key);
+                request.setAttribute(ETAG_ATTRIBUTE, etag);
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                responseToUse = new ContentCachingResponseWrapper(response);
+            }
+        }
+
+        filterChain.doFilter(request, responseToUse);
+
+        if (!isAsyncStarted(request)) {
+            ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+            if (wrapper != null) {
+                store((String) request.getAttribute(KEY_ATTRIBUTE), (String) request.getAttribute(ETAG_ATTRIBUTE), wrapper);
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return bodies.size();
+    }
+
+    /**
+     * Bytes held by the cached bodies, including their gzip-encoded copies.
+     */
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+
+    private static String resource(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri == null || !uri.startsWith(BASE_PATH)) {
+            return null;
+        }
+        String resource = uri.substring(BASE_PATH.length());
+        return KEY_PARAMETERS.containsKey(resource) ? resource : null;
+    }
+
+    /**
+     * Returns the cache key of a request for the resource, or null if it has a parameter the endpoint does not read,
+     * a repeated parameter, or a number that does not parse; those are passed through uncached.
+     */
+    static String cacheKey(String resource, Map<String, String[]> parameters) {
+        Set<String> known = KEY_PARAMETERS.get(resource);
+        StringBuilder key = new StringBuilder(resource);
+        char separator = '?';
+        for (String name : new TreeSet<>(parameters.keySet())) {
+            String[] values = parameters.get(name);
+            if (!known.contains(name) || values.length != 1) {
+                return null;
+            }
+            if (name.equals("offset") && !parameters.containsKey("limit")) {
+                continue;
+            }
+            String value = values[0];
+            if (NUMERIC_PARAMETERS.contains(name)) {
+                try {
+                    value = Integer.toString(Integer.parseInt(value.trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            key.append(separator).append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    // Only ever moves forward: a request that read its ETag just before a refresh must not roll the cache back
+    private CachedBody lookup(String key, String etag) {
+        synchronized (this) {
+            if (etag.equals(cachedETag)) {
+                return bodies.get(key);
+            }
+            if (isNewer(etag, cachedETag)) {
+                bodies.clear();
+                totalBytes = 0;
+                cachedETag = etag;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNewer(String etag, String than) {
+        return than == null || EmployeeSnapshotCache.versionOf(etag) > EmployeeSnapshotCache.versionOf(than);
+    }
+
+    private void store(String key, String etag, ContentCachingResponseWrapper response) {
+        if (etag == null || response.getStatus() != HttpServletResponse.SC_OK
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getContentSize() > maxEntryBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (etag.equals(cachedETag) && !bodies.containsKey(key)) {
+                CachedBody body = new CachedBody(key, response.getContentAsByteArray(), response.getContentType(),
+                        response.getHeader(HttpHeaders.ETAG));
+                bodies.put(key, body);
+                charge(body, body.plain.length);
+            }
+        }
+    }
+
+    // Counts the bytes against the budget of a body still in the cache, then evicts down to the limits
+    private synchronized void charge(CachedBody body, int bytes) {
+        if (bodies.get(body.key) != body) {
+            return;
+        }
+        body.charged += bytes;
+        totalBytes += bytes;
+        Iterator<CachedBody> eldest = bodies.values().iterator();
+        while ((bodies.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().charged;
+            eldest.remove();
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedBody cached) throws IOException {
+        if (cached.etag != null && new ServletWebRequest(request, response).checkNotModified(cached.etag)) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.etag != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag);
+        }
+
+        byte[] body = cached.plain;
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = gzipped(cached);
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+
+    // Encoded on first use; the encoded copy counts against max-bytes like the plain body
+    private byte[] gzipped(CachedBody cached) {
+        byte[] encoded = cached.gzipped;
+        if (encoded == null) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, cached.plain.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(cached.plain);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            encoded = buffer.toByteArray();
+            synchronized (this) {
+                if (cached.gzipped == null) {
+                    cached.gzipped = encoded;
+                    charge(cached, encoded.length);
+                }
+            }
+        }
+        return encoded;
+    }
+
+
+    private static final class CachedBody {
+        private final String key;
+        private final byte[] plain;
+        private final String contentType;
+        private final String etag;
+        private volatile byte[] gzipped;
+        // Bytes counted against max-bytes; guarded by the filter
+        private long charged;
+
+        private CachedBody(String key, byte[] plain, String contentType, String etag) {
+            this.key = key;
+            this.plain = plain;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+    }
+}
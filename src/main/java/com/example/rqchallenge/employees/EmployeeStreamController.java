@@ -0,0 +1,79 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Newline-delimited JSON variant of {@code GET /employees} for bulk consumers.
+ * <p>
+ * Selected with {@code Accept: application/x-ndjson} or {@code ?stream=true}. Employees are written one per line
+ * as they are produced, and the first lines are flushed straight away, so memory per request stays constant
+ * and the first bytes go out before the whole list is written.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+public class EmployeeStreamController {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeStreamController.class);
+    private static final int FLUSH_EVERY = 512;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+
+    public EmployeeStreamController(EmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.employeeWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @GetMapping(value = "/employees", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this::writeEmployees);
+    }
+
+    @GetMapping(value = "/employees", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployeesByParameter() {
+        return streamAllEmployees();
+    }
+
+
+    private void writeEmployees(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    employeeWriter.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_EVERY == 1) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.error("Error occurred while streaming employees: {}", e.getMessage());
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.rqchallenge.employees.analytics;
+
+/**
+ * Mergeable running totals over a range of employees: salary count, sum, extremes and variance, plus optional
+ * per-age-band totals. Two accumulators over disjoint ranges merge into the accumulator of their union.
+ */
+final class EmployeeAccumulator {
+
+    static final int MAX_AGE = 150;
+
+    private final int bandWidth;
+    private final long[] bandCounts;
+    private final long[] bandSums;
+    private final long[] bandMax;
+
+    long count;
+    long sum;
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    // Running mean and sum of squared deviations (Welford), merged with Chan's formula
+    double mean;
+    double m2;
+
+    /**
+     * @param bandWidth width of the age bands in years, or 0 to skip them
+     */
+    EmployeeAccumulator(int bandWidth) {
+        this.bandWidth = bandWidth;
+        int bands = bandWidth > 0 ? MAX_AGE / bandWidth + 1 : 0;
+        this.bandCounts = new long[bands];
+        this.bandSums = new long[bands];
+        this.bandMax = new long[bands];
+    }
+
+    void add(long salary, int age) {
+        count++;
+        sum += salary;
+        if (salary < min) {
+            min = salary;
+        }
+        if (salary > max) {
+            max = salary;
+        }
+        double delta = salary - mean;
+        mean += delta / count;
+        m2 += delta * (salary - mean);
+
+        if (bandWidth > 0) {
+            int band = band(age);
+            if (bandCounts[band]++ == 0 || salary > bandMax[band]) {
+                bandMax[band] = salary;
+            }
+            bandSums[band] += salary;
+        }
+    }
+
+    EmployeeAccumulator merge(EmployeeAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        for (int band = 0; band < bandCounts.length; band++) {
+            if (other.bandCounts[band] > 0) {
+                bandMax[band] = bandCounts[band] > 0 ? Math.max(bandMax[band], other.bandMax[band]) : other.bandMax[band];
+                bandCounts[band] += other.bandCounts[band];
+                bandSums[band] += other.bandSums[band];
+            }
+        }
+        return this;
+    }
+
+    int bandCount() {
+        return bandCounts.length;
+    }
+
+    long bandCount(int band) {
+        return bandCounts[band];
+    }
+
+    long bandSum(int band) {
+        return bandSums[band];
+    }
+
+    long bandMax(int band) {
+        return bandMax[band];
+    }
+
+    int bandWidth() {
+        return bandWidth;
+    }
+
+    /**
+     * Ages below 0 count in the first band and ages above {@value #MAX_AGE} in the last.
+     */
+    private int band(int age) {
+        return Math.min(Math.max(age, 0), MAX_AGE) / bandWidth;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.rqchallenge.employees.analytics;
+
+import com.example.rqchallenge.employees.cache.CompactEmployeeList;
+import com.example.rqchallenge.employees.model.AgeBand;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.SalaryStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join aggregations over an employee snapshot.
+ * <p>
+ * The snapshot is split into ranges of at most {@value #LEAF_SIZE} rows, each summed into an
+ * {@link EmployeeAccumulator}, and the accumulators are merged pairwise on the way back up. Percentiles and the
+ * histogram come from a parallel sort of the salary column. Compact snapshots are read column by column without
+ * creating employees. Everything runs in the given pool, including the sort.
+ */
+public final class EmployeeAggregator {
+
+    static final int LEAF_SIZE = 16_384;
+    private static final int[] PERCENTILES = {50, 75, 90, 95, 99};
+
+    private final ForkJoinPool pool;
+
+    public EmployeeAggregator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+
+    /**
+     * Computes the salary distribution.
+     *
+     * @param employees the snapshot
+     * @param buckets   the maximum number of histogram buckets
+     * @return the statistics
+     */
+    public SalaryStatistics salaryStatistics(List<Employee> employees, int buckets) {
+        Rows rows = Rows.of(employees);
+        return pool.submit(() -> {
+            EmployeeAccumulator total = new AggregateTask(rows, 0, rows.size(), 0).invoke();
+            if (total.count == 0) {
+                return new SalaryStatistics(0, 0, null, null, null, null, new LinkedHashMap<>(), new ArrayList<>());
+            }
+
+            long[] salaries = new long[rows.size()];
+            Arrays.parallelSetAll(salaries, rows::salary);
+            Arrays.parallelSort(salaries);
+
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            for (int percentile : PERCENTILES) {
+                int rank = (int) Math.ceil(percentile / 100d * salaries.length);
+                percentiles.put("p" + percentile, salaries[Math.max(rank, 1) - 1]);
+            }
+            return new SalaryStatistics(total.count, total.sum, total.mean, Math.sqrt(total.m2 / total.count),
+                    total.min, total.max, percentiles, histogram(salaries, buckets));
+        }).join();
+    }
+
+    /**
+     * Computes employee counts and salaries per age band.
+     *
+     * @param employees the snapshot
+     * @param width     the width of a band in years
+     * @return the non-empty bands, youngest first
+     */
+    public List<AgeBand> ageBands(List<Employee> employees, int width) {
+        Rows rows = Rows.of(employees);
+        EmployeeAccumulator total = pool.invoke(new AggregateTask(rows, 0, rows.size(), width));
+
+        List<AgeBand> bands = new ArrayList<>();
+        for (int band = 0; band < total.bandCount(); band++) {
+            if (total.bandCount(band) > 0) {
+                int from = band * width;
+                bands.add(new AgeBand(from, from + width - 1, total.bandCount(band), total.bandSum(band), total.bandMax(band)));
+            }
+        }
+        return bands;
+    }
+
+
+    private static List<SalaryStatistics.Bucket> histogram(long[] sorted, int buckets) {
+        long min = sorted[0];
+        long max = sorted[sorted.length - 1];
+        long span = max - min + 1;
+        long width = Math.max(1, (span + buckets - 1) / buckets);
+
+        List<SalaryStatistics.Bucket> histogram = new ArrayList<>(buckets);
+        int start = 0;
+        for (long from = min; from <= max && start < sorted.length; from += width) {
+            long to = Math.min(max, from + width - 1);
+            int end = upperBound(sorted, to);
+            histogram.add(new SalaryStatistics.Bucket(from, to, end - start));
+            start = end;
+        }
+        return histogram;
+    }
+
+    /**
+     * Index of the first element greater than the value.
+     */
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+
+    private static final class AggregateTask extends RecursiveTask<EmployeeAccumulator> {
+        private final Rows rows;
+        private final int from;
+        private final int to;
+        private final int bandWidth;
+
+        private AggregateTask(Rows rows, int from, int to, int bandWidth) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.bandWidth = bandWidth;
+        }
+
+        @Override
+        protected EmployeeAccumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                EmployeeAccumulator accumulator = new EmployeeAccumulator(bandWidth);
+                for (int row = from; row < to; row++) {
+                    accumulator.add(rows.salary(row), rows.age(row));
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(rows, from, middle, bandWidth);
+            left.fork();
+            EmployeeAccumulator right = new AggregateTask(rows, middle, to, bandWidth).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Salary and age by row, read from the columns of a compact snapshot or from the employees of any other.
+     */
+    private abstract static class Rows {
+        abstract int size();
+
+        abstract long salary(int row);
+
+        abstract int age(int row);
+
+        static Rows of(List<Employee> employees) {
+            if (employees instanceof CompactEmployeeList) {
+                CompactEmployeeList compact = (CompactEmployeeList) employees;
+                return new Rows() {
+                    int size() {
+                        return compact.size();
+                    }
+
+                    long salary(int row) {
+                        return compact.getSalary(row);
+                    }
+
+                    int age(int row) {
+                        return compact.getAge(row);
+                    }
+                };
+            }
+            List<Employee> list = employees instanceof RandomAccess ? employees : new ArrayList<>(employees);
+            return new Rows() {
+                int size() {
+                    return list.size();
+                }
+
+                long salary(int row) {
+                    return list.get(row).getSalary();
+                }
+
+                int age(int row) {
+                    return list.get(row).getAge();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees.cache;
+
+/**
+ * Counters describing how the employee snapshot cache has been used.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long staleHits;
+    private final long misses;
+    private final long refreshes;
+    private final long refreshFailures;
+    private final long snapshotVersion;
+    private final int snapshotSize;
+
+    public CacheStats(long hits, long staleHits, long misses, long refreshes, long refreshFailures,
+                      long snapshotVersion, int snapshotSize) {
+        this.hits = hits;
+        this.staleHits = staleHits;
+        this.misses = misses;
+        this.refreshes = refreshes;
+        this.refreshFailures = refreshFailures;
+        this.snapshotVersion = snapshotVersion;
+        this.snapshotSize = snapshotSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getStaleHits() {
+        return staleHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    public long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    public int getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", staleHits=" + staleHits + ", misses=" + misses
+                + ", refreshes=" + refreshes + ", refreshFailures=" + refreshFailures;
+    }
+}
@@ -0,0 +1,601 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeFingerprint;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable employee list stored as primitive columns, for snapshots too large to keep as {@link Employee}
+ * objects.
+ * <p>
+ * Salaries and ages are {@code long[]} and {@code int[]}, names and profile images are codes into dictionaries of
+ * their distinct values, and ids are a {@code long[]} when they are all plain decimal numbers. The content
+ * fingerprint of every row is kept as a {@code long[]} too, so snapshots are diffed without a map of them. A row
+ * costs about 36 bytes plus its share of the dictionaries. Aggregates and name filters run over the columns; an
+ * {@link Employee} is only created by {@link #get(int)}, e.g. while a response is written.
+ * <p>
+ * {@link #withSaved} and {@link #without} copy the columns with a few rows changed instead of rebuilding them
+ * from employees. Names and images no longer used stay in the dictionaries until the next full build.
+ */
+public final class CompactEmployeeList extends AbstractList<Employee> implements RandomAccess {
+
+    private final int size;
+    private final long[] numericIds;
+    private final String[] textIds;
+    private final long[] salaries;
+    private final int[] ages;
+    private final int[] nameCodes;
+    private final String[] names;
+    private final int[] imageCodes;
+    private final String[] images;
+    private final long[] fingerprints;
+
+    // Built on first use, racing builders produce equal arrays
+    private volatile String[] lowerNames;
+    private volatile int[] idTable;
+    // Written before idTable
+    private volatile boolean duplicateIds;
+
+    private CompactEmployeeList(List<Employee> employees) {
+        size = employees.size();
+        salaries = new long[size];
+        ages = new int[size];
+        nameCodes = new int[size];
+        imageCodes = new int[size];
+        fingerprints = new long[size];
+
+        Dictionary nameDictionary = new Dictionary();
+        Dictionary imageDictionary = new Dictionary();
+        long[] ids = new long[size];
+        boolean numeric = true;
+        for (int row = 0; row < size; row++) {
+            Employee employee = employees.get(row);
+            salaries[row] = employee.getSalary();
+            ages[row] = employee.getAge();
+            nameCodes[row] = nameDictionary.encode(employee.getName());
+            imageCodes[row] = imageDictionary.encode(employee.getProfileImage());
+            fingerprints[row] = EmployeeFingerprint.of(employee);
+            if (numeric) {
+                long id = parseId(employee.getId());
+                if (id < 0) {
+                    numeric = false;
+                } else {
+                    ids[row] = id;
+                }
+            }
+        }
+        names = nameDictionary.toArray();
+        images = imageDictionary.toArray();
+
+        if (numeric) {
+            numericIds = ids;
+            textIds = null;
+        } else {
+            numericIds = null;
+            textIds = new String[size];
+            for (int row = 0; row < size; row++) {
+                textIds[row] = employees.get(row).getId();
+            }
+        }
+    }
+
+    private CompactEmployeeList(int size, long[] numericIds, String[] textIds, long[] salaries, int[] ages,
+                                int[] nameCodes, String[] names, int[] imageCodes, String[] images, long[] fingerprints) {
+        this.size = size;
+        this.numericIds = numericIds;
+        this.textIds = textIds;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.nameCodes = nameCodes;
+        this.names = names;
+        this.imageCodes = imageCodes;
+        this.images = images;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * Stores the given employees in columns, or returns them as they are if they already are.
+     */
+    public static CompactEmployeeList of(List<Employee> employees) {
+        return employees instanceof CompactEmployeeList ? (CompactEmployeeList) employees : new CompactEmployeeList(employees);
+    }
+
+    /**
+     * Returns a copy with the given employees replacing the rows of their ids, or appended in order if their id is
+     * new. Only the columns are copied; the id table is reused, or copied with the new rows added while it has
+     * room for them.
+     *
+     * @param employees the employees to save, at most one per id
+     */
+    public CompactEmployeeList withSaved(Collection<Employee> employees) {
+        int[] rows = new int[employees.size()];
+        int appended = 0;
+        boolean numeric = numericIds != null;
+        int i = 0;
+        for (Employee employee : employees) {
+            rows[i] = findRow(employee.getId());
+            if (rows[i++] < 0) {
+                appended++;
+                numeric &= parseId(employee.getId()) >= 0;
+            }
+        }
+
+        int newSize = size + appended;
+        long[] newNumericIds = numeric ? Arrays.copyOf(numericIds, newSize) : null;
+        String[] newTextIds = numeric ? null : new String[newSize];
+        if (!numeric) {
+            for (int row = 0; row < size; row++) {
+                newTextIds[row] = getId(row);
+            }
+        }
+        long[] newSalaries = Arrays.copyOf(salaries, newSize);
+        int[] newAges = Arrays.copyOf(ages, newSize);
+        int[] newNameCodes = Arrays.copyOf(nameCodes, newSize);
+        int[] newImageCodes = Arrays.copyOf(imageCodes, newSize);
+        long[] newFingerprints = Arrays.copyOf(fingerprints, newSize);
+        Dictionary nameDictionary = new Dictionary(names);
+        Dictionary imageDictionary = new Dictionary(images);
+
+        int next = size;
+        i = 0;
+        for (Employee employee : employees) {
+            int row = rows[i] >= 0 ? rows[i] : next++;
+            i++;
+            if (numeric) {
+                newNumericIds[row] = parseId(employee.getId());
+            } else {
+                newTextIds[row] = employee.getId();
+            }
+            newSalaries[row] = employee.getSalary();
+            newAges[row] = employee.getAge();
+            newNameCodes[row] = row < size && Objects.equals(names[nameCodes[row]], employee.getName())
+                    ? nameCodes[row] : nameDictionary.encode(employee.getName());
+            newImageCodes[row] = row < size && Objects.equals(images[imageCodes[row]], employee.getProfileImage())
+                    ? imageCodes[row] : imageDictionary.encode(employee.getProfileImage());
+            newFingerprints[row] = EmployeeFingerprint.of(employee);
+        }
+
+        CompactEmployeeList saved = new CompactEmployeeList(newSize, newNumericIds, newTextIds, newSalaries, newAges,
+                newNameCodes, nameDictionary.toArray(), newImageCodes, imageDictionary.toArray(), newFingerprints);
+        if (saved.names.length == names.length) {
+            saved.lowerNames = lowerNames;
+        }
+        int[] table = idTable;
+        if (table != null && numeric == (numericIds != null) && newSize * 2 <= table.length) {
+            if (appended > 0) {
+                table = table.clone();
+                for (int row = size; row < newSize; row++) {
+                    saved.insert(table, row);
+                }
+            }
+            saved.duplicateIds = duplicateIds;
+            saved.idTable = table;
+        }
+        return saved;
+    }
+
+    /**
+     * Returns a copy without the rows of the given ids. Only the columns are copied, in runs between the removed
+     * rows; the id table is rebuilt on the next lookup.
+     *
+     * @param ids the ids of the employees to remove
+     */
+    public CompactEmployeeList without(Collection<String> ids) {
+        BitSet removed = new BitSet(size);
+        idTable();
+        if (duplicateIds) {
+            Set<String> deleted = new HashSet<>(ids);
+            for (int row = 0; row < size; row++) {
+                if (deleted.contains(getId(row))) {
+                    removed.set(row);
+                }
+            }
+        } else {
+            for (String id : ids) {
+                int row = findRow(id);
+                if (row >= 0) {
+                    removed.set(row);
+                }
+            }
+        }
+        if (removed.isEmpty()) {
+            return this;
+        }
+
+        int newSize = size - removed.cardinality();
+        CompactEmployeeList remaining = new CompactEmployeeList(newSize,
+                numericIds != null ? copyRuns(numericIds, new long[newSize], removed) : null,
+                textIds != null ? copyRuns(textIds, new String[newSize], removed) : null,
+                copyRuns(salaries, new long[newSize], removed), copyRuns(ages, new int[newSize], removed),
+                copyRuns(nameCodes, new int[newSize], removed), names,
+                copyRuns(imageCodes, new int[newSize], removed), images,
+                copyRuns(fingerprints, new long[newSize], removed));
+        remaining.lowerNames = lowerNames;
+        return remaining;
+    }
+
+
+    /**
+     * Creates a view of the given row. Every call returns a new {@link Employee}.
+     */
+    @Override
+    public Employee get(int row) {
+        return new Employee(getId(row), names[nameCodes[row]], salaries[row], ages[row], images[imageCodes[row]]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public String getId(int row) {
+        checkRow(row);
+        return numericIds != null ? Long.toString(numericIds[row]) : textIds[row];
+    }
+
+    public String getName(int row) {
+        return names[nameCodes[row]];
+    }
+
+    public long getSalary(int row) {
+        return salaries[row];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    /**
+     * Content fingerprint of the given row, as computed by {@link EmployeeFingerprint#of}.
+     */
+    public long getFingerprint(int row) {
+        return fingerprints[row];
+    }
+
+    /**
+     * Number of distinct names, i.e. the size of the name dictionary. After {@link #withSaved} or
+     * {@link #without} it may include names no row uses any more.
+     */
+    public int getDistinctNameCount() {
+        return names.length;
+    }
+
+    /**
+     * Returns the highest salary.
+     *
+     * @return the highest salary, or null if the list is empty
+     */
+    public Long getHighestSalary() {
+        if (size == 0) {
+            return null;
+        }
+        long max = Long.MIN_VALUE;
+        for (long salary : salaries) {
+            if (salary > max) {
+                max = salary;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the names of the highest earning employees, highest first, without duplicates. A name ranks by the
+     * highest salary of any employee with that name; ties keep the order in which the names first appear.
+     *
+     * @param k the maximum number of names to return
+     * @return up to k distinct names
+     */
+    public List<String> getTopEarningNames(int k) {
+        long[] best = new long[names.length];
+        Arrays.fill(best, Long.MIN_VALUE);
+        BitSet used = new BitSet(names.length);
+        for (int row = 0; row < size; row++) {
+            int code = nameCodes[row];
+            used.set(code);
+            if (salaries[row] > best[code]) {
+                best[code] = salaries[row];
+            }
+        }
+
+        // Insertion into a sorted array of at most k codes; most codes fail the check against the last one
+        int limit = Math.min(k, names.length);
+        int[] top = new int[limit];
+        int count = 0;
+        for (int code = 0; code < best.length && limit > 0; code++) {
+            if (!used.get(code) || count == limit && best[code] <= best[top[count - 1]]) {
+                continue;
+            }
+            int position = count < limit ? count++ : count - 1;
+            while (position > 0 && best[top[position - 1]] < best[code]) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = code;
+        }
+
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(names[top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds employees whose name contains the given text, ignoring case. Each distinct name is matched once, then
+     * the rows are filtered by name code.
+     *
+     * @param text   the text to search for
+     * @param offset the number of matches to skip
+     * @param limit  the maximum number of matches to return
+     * @return the matching employees in list order
+     */
+    public List<Employee> searchByName(String text, int offset, int limit) {
+        BitSet matching = matchingNames(text);
+        List<Employee> matches = new ArrayList<>(Math.min(limit, 64));
+        if (matching.isEmpty()) {
+            return matches;
+        }
+        int skip = offset;
+        for (int row = 0; row < size && matches.size() < limit; row++) {
+            if (matching.get(nameCodes[row])) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    matches.add(get(row));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Passes every employee whose name contains the given text, ignoring case, to the consumer in list order.
+     * Each is created only as it is passed on.
+     *
+     * @return the number of matches
+     */
+    public int forEachByName(String text, Consumer<Employee> consumer) {
+        BitSet matching = matchingNames(text);
+        if (matching.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (matching.get(nameCodes[row])) {
+                consumer.accept(get(row));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the employees whose name contains the given text, ignoring case, without materializing them.
+     */
+    public int countByName(String text) {
+        BitSet matching = matchingNames(text);
+        if (matching.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (matching.get(nameCodes[row])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Looks up an employee by id through an open-addressing table of row numbers, built on the first call.
+     *
+     * @return the first employee with that id, or null if there is none
+     */
+    public Employee findById(String id) {
+        int row = findRow(id);
+        return row >= 0 ? get(row) : null;
+    }
+
+    /**
+     * Returns the row of the first employee with the given id, through the same table as {@link #findById}.
+     *
+     * @return the row, or -1 if there is no such employee
+     */
+    public int findRow(String id) {
+        long numericId = 0;
+        if (numericIds != null) {
+            numericId = parseId(id);
+            if (numericId < 0) {
+                return -1;
+            }
+        }
+        int[] table = idTable();
+        int mask = table.length - 1;
+        int hash = numericIds != null ? hash(numericId) : hash(id);
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (numericIds != null ? numericIds[row] == numericId : textIds[row].equals(id)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the row of the first employee with the id of the given row of another list.
+     *
+     * @return the row, or -1 if there is no such employee
+     */
+    int findRow(CompactEmployeeList other, int otherRow) {
+        if (numericIds == null || other.numericIds == null) {
+            return findRow(other.getId(otherRow));
+        }
+        long numericId = other.numericIds[otherRow];
+        int[] table = idTable();
+        int mask = table.length - 1;
+        for (int slot = hash(numericId) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (numericIds[row] == numericId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private int[] idTable() {
+        int[] table = idTable;
+        if (table == null) {
+            boolean duplicates = false;
+            table = new int[Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1];
+            for (int row = 0; row < size; row++) {
+                duplicates |= !insert(table, row);
+            }
+            duplicateIds = duplicates;
+            idTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Adds the given row to an id table, unless an earlier row has the same id.
+     *
+     * @return whether the row was added
+     */
+    private boolean insert(int[] table, int row) {
+        int mask = table.length - 1;
+        int hash = numericIds != null ? hash(numericIds[row]) : hash(textIds[row]);
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            if (table[slot] == 0) {
+                table[slot] = row + 1;
+                return true;
+            }
+            int other = table[slot] - 1;
+            if (numericIds != null ? numericIds[other] == numericIds[row] : textIds[other].equals(textIds[row])) {
+                return false;
+            }
+        }
+    }
+
+    private BitSet matchingNames(String text) {
+        String query = text.toLowerCase(Locale.ROOT);
+        String[] lower = lowerNames();
+        BitSet matching = new BitSet(lower.length);
+        for (int code = 0; code < lower.length; code++) {
+            if (lower[code].contains(query)) {
+                matching.set(code);
+            }
+        }
+        return matching;
+    }
+
+    private String[] lowerNames() {
+        String[] lower = lowerNames;
+        if (lower == null) {
+            lower = new String[names.length];
+            for (int code = 0; code < names.length; code++) {
+                lower[code] = names[code] == null ? "" : names[code].toLowerCase(Locale.ROOT);
+            }
+            lowerNames = lower;
+        }
+        return lower;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+
+    /**
+     * Parses an id that is a plain non-negative decimal number which prints back to the same text.
+     *
+     * @return the number, or -1 if the id has any other form
+     */
+    private static long parseId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 18 || (id.length() > 1 && id.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // Copies the rows not in removed, each run between two removed rows at once
+    private <T> T copyRuns(T source, T target, BitSet removed) {
+        int from = 0;
+        int to = 0;
+        for (int row = removed.nextSetBit(0); row >= 0; row = removed.nextSetBit(row + 1)) {
+            System.arraycopy(source, from, target, to, row - from);
+            to += row - from;
+            from = row + 1;
+        }
+        System.arraycopy(source, from, target, to, size - from);
+        return target;
+    }
+
+    private static int hash(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int hash(String value) {
+        int h = value.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private String[] existing;
+
+        private Dictionary() {
+        }
+
+        // Indexes the existing values on the first encode, most saves keep their name and image
+        private Dictionary(String[] existing) {
+            this.existing = existing;
+        }
+
+        private int encode(String value) {
+            if (existing != null) {
+                values.addAll(Arrays.asList(existing));
+                for (int code = 0; code < existing.length; code++) {
+                    codes.putIfAbsent(existing[code], code);
+                }
+                existing = null;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        private String[] toArray() {
+            return existing != null ? existing : values.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between two consecutive employee snapshots, matched by id and compared by content fingerprint.
+ */
+public final class EmployeeDelta {
+
+    private final List<Employee> inserted;
+    private final List<Employee> updated;
+    private final List<String> deleted;
+
+    public EmployeeDelta(List<Employee> inserted, List<Employee> updated, List<String> deleted) {
+        this.inserted = Collections.unmodifiableList(inserted);
+        this.updated = Collections.unmodifiableList(updated);
+        this.deleted = Collections.unmodifiableList(deleted);
+    }
+
+    /**
+     * Compares a new employee list against the fingerprints of the previous one.
+     *
+     * @param previous     fingerprints of the previous snapshot by id
+     * @param employees    the new employee list
+     * @param fingerprints filled with the fingerprints of the new list by id
+     * @return the inserts, updates and deletes that turn the previous snapshot into the new one
+     */
+    public static EmployeeDelta compute(Map<String, Long> previous, List<Employee> employees, Map<String, Long> fingerprints) {
+        List<Employee> inserted = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+
+        for (Employee employee : employees) {
+            long fingerprint = EmployeeFingerprint.of(employee);
+            if (fingerprints.put(employee.getId(), fingerprint) != null) {
+                continue;
+            }
+            Long before = previous.get(employee.getId());
+            if (before == null) {
+                inserted.add(employee);
+            } else if (before != fingerprint) {
+                updated.add(employee);
+            }
+        }
+
+        List<String> deleted = new ArrayList<>();
+        for (String id : previous.keySet()) {
+            if (!fingerprints.containsKey(id)) {
+                deleted.add(id);
+            }
+        }
+        return new EmployeeDelta(inserted, updated, deleted);
+    }
+
+    /**
+     * Compares two compact employee lists through their fingerprint columns and id tables.
+     *
+     * @param previous  the previous snapshot
+     * @param employees the new snapshot
+     * @return the inserts, updates and deletes that turn the previous snapshot into the new one
+     */
+    public static EmployeeDelta compute(CompactEmployeeList previous, CompactEmployeeList employees) {
+        List<Employee> inserted = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+
+        for (int row = 0; row < employees.size(); row++) {
+            if (employees.findRow(employees, row) != row) {
+                continue;
+            }
+            int before = previous.findRow(employees, row);
+            if (before < 0) {
+                inserted.add(employees.get(row));
+            } else if (previous.getFingerprint(before) != employees.getFingerprint(row)) {
+                updated.add(employees.get(row));
+            }
+        }
+
+        List<String> deleted = new ArrayList<>();
+        for (int row = 0; row < previous.size(); row++) {
+            if (previous.findRow(previous, row) == row && employees.findRow(previous, row) < 0) {
+                deleted.add(previous.getId(row));
+            }
+        }
+        return new EmployeeDelta(inserted, updated, deleted);
+    }
+
+    public List<Employee> getInserted() {
+        return inserted;
+    }
+
+    public List<Employee> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getDeleted() {
+        return deleted;
+    }
+
+    public int size() {
+        return inserted.size() + updated.size() + deleted.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "inserted=" + inserted.size() + ", updated=" + updated.size() + ", deleted=" + deleted.size();
+    }
+}
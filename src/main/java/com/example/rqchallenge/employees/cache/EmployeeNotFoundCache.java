@@ -0,0 +1,98 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids recently found not to exist, so repeated by-id reads of an unknown id do not each cost a database query and
+ * an upstream call. Entries expire after {@code not-found-ttl}.
+ * <p>
+ * Kept in step with the snapshot cache: created employees are dropped from it right away, and deleted ones are
+ * added, so a read does not find them in the database before the write-behind queue has deleted them there.
+ */
+@Component
+public class EmployeeNotFoundCache implements EmployeeSnapshotListener {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Long> expiries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+
+    public EmployeeNotFoundCache(@Value("${employee.service.lookup.not-found-ttl:10s}") Duration ttl,
+                                 @Value("${employee.service.lookup.not-found-max-size:100000}") int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    EmployeeNotFoundCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+    }
+
+
+    /**
+     * Whether the id was found missing within the TTL.
+     */
+    public boolean isNotFound(String id) {
+        Long expiry = expiries.get(id);
+        if (expiry == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - expiry >= 0) {
+            expiries.remove(id, expiry);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Remembers that the id does not exist, for the TTL. When the cache is full, expired entries are evicted
+     * first and everything if that is not enough.
+     */
+    public void markNotFound(String id) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (expiries.size() >= maxSize) {
+            expiries.values().removeIf(expiry -> now - expiry >= 0);
+            if (expiries.size() >= maxSize) {
+                expiries.clear();
+            }
+        }
+        expiries.put(id, now + ttlNanos);
+    }
+
+    @Override
+    public void onSnapshot(List<Employee> employees) {
+        expiries.clear();
+    }
+
+    @Override
+    public void onEmployeeSaved(Employee employee) {
+        expiries.remove(employee.getId());
+    }
+
+    @Override
+    public void onEmployeeDeleted(String id) {
+        markNotFound(id);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+}
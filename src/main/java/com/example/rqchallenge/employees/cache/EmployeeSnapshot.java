@@ -0,0 +1,79 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time copy of the upstream employee list.
+ */
+public final class EmployeeSnapshot {
+
+    private final List<Employee> employees;
+    private final long version;
+    private final long loadedAtNanos;
+    // Built on the first lookup, racing builders produce equal maps
+    private volatile Map<String, Employee> byId;
+
+    public EmployeeSnapshot(List<Employee> employees, long version, long loadedAtNanos) {
+        this(version, employees instanceof CompactEmployeeList ? employees : Collections.unmodifiableList(employees),
+                loadedAtNanos);
+    }
+
+    private EmployeeSnapshot(long version, List<Employee> employees, long loadedAtNanos) {
+        this.employees = employees;
+        this.version = version;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    /**
+     * Returns a copy of this snapshot with the same employees and version but a new load time, for a refresh
+     * that found nothing changed.
+     */
+    public EmployeeSnapshot reloadedAt(long loadedAtNanos) {
+        return new EmployeeSnapshot(version, employees, loadedAtNanos);
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Looks up an employee of this snapshot by id. The id map, or the id table of a compact snapshot, is built on
+     * the first call.
+     *
+     * @return the employee, or null if this snapshot has no such employee
+     */
+    public Employee findById(String id) {
+        if (employees instanceof CompactEmployeeList) {
+            return ((CompactEmployeeList) employees).findById(id);
+        }
+        Map<String, Employee> index = byId;
+        if (index == null) {
+            index = new HashMap<>(employees.size() * 2);
+            for (Employee employee : employees) {
+                index.putIfAbsent(employee.getId(), employee);
+            }
+            byId = index;
+        }
+        return index.get(id);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLoadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    /**
+     * Returns the age of this snapshot in nanoseconds relative to the given {@link System#nanoTime()} reading.
+     */
+    public long ageNanos(long nowNanos) {
+        return nowNanos - loadedAtNanos;
+    }
+}
@@ -0,0 +1,482 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeFingerprint;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process read-through cache holding the latest snapshot of the upstream employee list.
+ * <p>
+ * A snapshot younger than {@code ttl} is served as is. Between {@code ttl} and {@code ttl + stale-ttl} the
+ * snapshot is still served while a background refresh runs. Past that window callers wait for the refresh,
+ * but fall back to the last good snapshot if the upstream fails. Only one refresh runs at a time.
+ * <p>
+ * An empty employee list counts as a failed refresh, as does a list that lost more than {@code max-shrink} of the
+ * employees, unless the next refresh confirms it. Either is far more likely a broken upstream response than a
+ * real mass deletion, and publishing it would clear every index and delete the rows from the database.
+ * <p>
+ * Each loaded snapshot is diffed against the previous one by id and content fingerprint. The registered
+ * {@link EmployeeSnapshotListener}s receive the full list only for the first snapshot and only the
+ * {@link EmployeeDelta} afterwards, unless a listener reports that it lost changes and needs the full list to
+ * reconcile. A refresh that changes nothing keeps the snapshot version. Single-employee changes are published as
+ * they happen.
+ * <p>
+ * With {@code compact} enabled, snapshots are stored as a {@link CompactEmployeeList} instead of employee objects,
+ * diffed through its fingerprint column, and single-employee changes copy its columns instead of rebuilding them.
+ */
+@Component
+public class EmployeeSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+    private static final RateLimitedLogger failureLog = RateLimitedLogger.getLogger(EmployeeSnapshotCache.class);
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long staleTtlNanos;
+    private final int maxSize;
+    private final boolean compact;
+    private final double maxShrink;
+    private final LongSupplier nanoClock;
+    private final List<EmployeeSnapshotListener> listeners;
+    private final ExecutorService refreshExecutor;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Versions restart with the process, so ETags also carry the start time
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    // Last published state, guarded by this; compact snapshots carry their own fingerprints
+    private EmployeeSnapshot published;
+    private Map<String, Long> publishedFingerprints;
+    private boolean shrinkSeen;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    @Autowired
+    public EmployeeSnapshotCache(@Value("${employee.service.cache.enabled:true}") boolean enabled,
+                                 @Value("${employee.service.cache.ttl:30s}") Duration ttl,
+                                 @Value("${employee.service.cache.stale-ttl:5m}") Duration staleTtl,
+                                 @Value("${employee.service.cache.max-size:1000000}") int maxSize,
+                                 @Value("${employee.service.cache.compact:false}") boolean compact,
+                                 @Value("${employee.service.cache.max-shrink:0.5}") double maxShrink,
+                                 List<EmployeeSnapshotListener> listeners) {
+        this(enabled, ttl, staleTtl, maxSize, compact, maxShrink, System::nanoTime, listeners);
+    }
+
+    EmployeeSnapshotCache(boolean enabled, Duration ttl, Duration staleTtl, int maxSize, boolean compact,
+                          double maxShrink, LongSupplier nanoClock, List<EmployeeSnapshotListener> listeners) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.staleTtlNanos = staleTtl.toNanos();
+        this.maxSize = maxSize;
+        this.compact = compact;
+        this.maxShrink = maxShrink;
+        this.nanoClock = nanoClock;
+        this.listeners = listeners;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Returns the cached employee list, loading it through the given loader when needed.
+     *
+     * @param loader fetches the full employee list from the upstream API
+     * @return the current employee list
+     */
+    public List<Employee> get(Callable<List<Employee>> loader) {
+        if (!enabled) {
+            misses.increment();
+            return load(loader).getEmployees();
+        }
+        return await(getAsync(loader, Runnable::run));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(Callable)}: completes immediately when a usable snapshot is cached,
+     * otherwise when the shared refresh completes. The calling thread never runs the loader.
+     * <p>
+     * A future that waited for a refresh is completed on the given executor, so the dependent stages of all the
+     * requests waiting for it run there in parallel instead of one after another on the refresh thread.
+     *
+     * @param loader   fetches the full employee list from the upstream API
+     * @param executor completes futures that waited for a refresh
+     * @return a future of the current employee list
+     */
+    public CompletableFuture<List<Employee>> getAsync(Callable<List<Employee>> loader, Executor executor) {
+        EmployeeSnapshot snapshot = enabled ? current.get() : null;
+        if (snapshot == null) {
+            misses.increment();
+            return refresh(loader).thenApplyAsync(EmployeeSnapshot::getEmployees, orCallerRuns(executor));
+        }
+
+        long age = snapshot.ageNanos(nanoClock.getAsLong());
+        if (age <= ttlNanos) {
+            hits.increment();
+            return CompletableFuture.completedFuture(snapshot.getEmployees());
+        }
+
+        if (age <= ttlNanos + staleTtlNanos || inFlight.get() != null) {
+            staleHits.increment();
+            refresh(loader);
+            return CompletableFuture.completedFuture(snapshot.getEmployees());
+        }
+
+        misses.increment();
+        return refresh(loader).handleAsync((refreshed, error) -> error == null
+                ? refreshed.getEmployees()
+                : snapshot.getEmployees(), orCallerRuns(executor));
+    }
+
+    /**
+     * Returns the current snapshot without ever loading, regardless of its age, or null if there is none. Used
+     * when a background sync owns the refreshes.
+     */
+    public List<Employee> getIfPresent() {
+        EmployeeSnapshot snapshot = enabled ? current.get() : null;
+        if (snapshot == null) {
+            return null;
+        }
+        hits.increment();
+        return snapshot.getEmployees();
+    }
+
+    /**
+     * Loads a new snapshot regardless of the age of the current one, joining a refresh that is already running.
+     * Used by background syncs, so listeners see upstream changes without any reader triggering a refresh.
+     *
+     * @param loader fetches the full employee list from the upstream API
+     * @return a future of the reloaded employee list
+     */
+    public CompletableFuture<List<Employee>> reload(Callable<List<Employee>> loader) {
+        return refresh(loader).thenApply(EmployeeSnapshot::getEmployees);
+    }
+
+    /**
+     * Adds or replaces a single employee in the current snapshot, e.g. after it was created upstream.
+     */
+    public void put(Employee employee) {
+        putAll(Collections.singletonList(employee));
+    }
+
+    /**
+     * Adds or replaces employees in the current snapshot with a single copy of it, e.g. after a bulk create.
+     */
+    public synchronized void putAll(Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        Map<String, Employee> saved = new LinkedHashMap<>(employees.size() * 2);
+        employees.forEach(employee -> saved.put(employee.getId(), employee));
+
+        EmployeeSnapshot base = published;
+        if (base == null) {
+            saved.values().forEach(employee -> listeners.forEach(listener -> listener.onEmployeeSaved(employee)));
+            return;
+        }
+        EmployeeDelta delta = new EmployeeDelta(new ArrayList<>(saved.values()), Collections.emptyList(), Collections.emptyList());
+        if (compact) {
+            apply(base, ((CompactEmployeeList) base.getEmployees()).withSaved(saved.values()), delta);
+            return;
+        }
+        Map<String, Employee> pending = new HashMap<>(saved);
+        List<Employee> updated = new ArrayList<>(base.getEmployees().size() + saved.size());
+        for (Employee existing : base.getEmployees()) {
+            Employee replacement = pending.remove(existing.getId());
+            updated.add(replacement != null ? replacement : existing);
+        }
+        for (Employee employee : saved.values()) {
+            if (pending.containsKey(employee.getId())) {
+                updated.add(employee);
+            }
+        }
+        saved.values().forEach(employee -> publishedFingerprints.put(employee.getId(), EmployeeFingerprint.of(employee)));
+        apply(base, updated, delta);
+    }
+
+    /**
+     * Removes a single employee from the current snapshot, e.g. after it was deleted upstream.
+     */
+    public void remove(String id) {
+        removeAll(Collections.singletonList(id));
+    }
+
+    /**
+     * Removes employees from the current snapshot with a single copy of it, e.g. after a bulk delete.
+     */
+    public synchronized void removeAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<String> deleted = new LinkedHashSet<>(ids);
+
+        EmployeeSnapshot base = published;
+        if (base == null) {
+            deleted.forEach(id -> listeners.forEach(listener -> listener.onEmployeeDeleted(id)));
+            return;
+        }
+        EmployeeDelta delta = new EmployeeDelta(Collections.emptyList(), Collections.emptyList(), new ArrayList<>(deleted));
+        if (compact) {
+            apply(base, ((CompactEmployeeList) base.getEmployees()).without(deleted), delta);
+            return;
+        }
+        List<Employee> updated = new ArrayList<>(base.getEmployees().size());
+        for (Employee employee : base.getEmployees()) {
+            if (!deleted.contains(employee.getId())) {
+                updated.add(employee);
+            }
+        }
+        deleted.forEach(publishedFingerprints::remove);
+        apply(base, updated, delta);
+    }
+
+    /**
+     * Returns the employee with the given id from the current snapshot, without loading.
+     *
+     * @return the employee, or null if there is no snapshot or it has no such employee
+     */
+    public Employee getCachedEmployee(String id) {
+        EmployeeSnapshot snapshot = enabled ? current.get() : null;
+        return snapshot != null ? snapshot.findById(id) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean hasSnapshot() {
+        return enabled && current.get() != null;
+    }
+
+    /**
+     * Strong ETag identifying the current snapshot version, for conditional GETs of responses derived from it.
+     * A stale snapshot is revalidated in the background through the loader, as on a stale read.
+     * <p>
+     * Callers read the ETag before the response data. Listeners are notified before a new version becomes
+     * current, so the data is never older than the ETag.
+     *
+     * @param loader refreshes a stale snapshot, or null to never trigger a refresh
+     * @return the ETag, or null if there is no usable snapshot
+     */
+    public String getETag(Callable<List<Employee>> loader) {
+        EmployeeSnapshot snapshot = enabled ? current.get() : null;
+        if (snapshot == null) {
+            return null;
+        }
+        if (loader != null) {
+            long age = snapshot.ageNanos(nanoClock.getAsLong());
+            if (age > ttlNanos + staleTtlNanos) {
+                return null;
+            }
+            if (age > ttlNanos) {
+                refresh(loader);
+            }
+        }
+        return "\"" + epoch + "-" + snapshot.getVersion() + "\"";
+    }
+
+    /**
+     * Snapshot version of an ETag returned by {@link #getETag}, to tell which of two ETags is newer.
+     */
+    public static long versionOf(String etag) {
+        return Long.parseLong(etag.substring(etag.lastIndexOf('-') + 1, etag.length() - 1));
+    }
+
+    /**
+     * Drops the current snapshot so the next read goes to the upstream API.
+     */
+    public void invalidate() {
+        current.set(null);
+    }
+
+    public CacheStats getStats() {
+        EmployeeSnapshot snapshot = current.get();
+        return new CacheStats(hits.sum(), staleHits.sum(), misses.sum(), refreshes.sum(), refreshFailures.sum(),
+                snapshot != null ? snapshot.getVersion() : 0, snapshot != null ? snapshot.getEmployees().size() : 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+
+    private void apply(EmployeeSnapshot base, List<Employee> employees, EmployeeDelta delta) {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(store(employees), versions.incrementAndGet(), base.getLoadedAtNanos());
+        // Listeners go first so an index is never behind the version a reader sees
+        listeners.forEach(listener -> listener.onDelta(delta, snapshot.getEmployees()));
+        current.compareAndSet(base, snapshot);
+        published = snapshot;
+    }
+
+    private CompletableFuture<EmployeeSnapshot> refresh(Callable<List<Employee>> loader) {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            CompletableFuture<EmployeeSnapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                refreshExecutor.execute(() -> {
+                    try {
+                        EmployeeSnapshot snapshot = load(loader);
+                        inFlight.compareAndSet(future, null);
+                        future.complete(snapshot);
+                    } catch (Throwable t) {
+                        refreshFailures.increment();
+                        // Once per failed refresh, not per waiter; readers past the stale TTL get the last snapshot
+                        failureLog.warn("Employee snapshot refresh failed, serving the last good snapshot if any: {}",
+                                t.getMessage());
+                        inFlight.compareAndSet(future, null);
+                        future.completeExceptionally(t);
+                    }
+                });
+                return future;
+            }
+        }
+    }
+
+    private EmployeeSnapshot load(Callable<List<Employee>> loader) {
+        long start = nanoClock.getAsLong();
+        List<Employee> employees;
+        try {
+            employees = loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load employee snapshot", e);
+        }
+        boolean cacheable = enabled && employees.size() <= maxSize;
+        EmployeeSnapshot snapshot = publish(employees, cacheable);
+        refreshes.increment();
+        if (!enabled) {
+            return snapshot;
+        }
+        if (!cacheable) {
+            log.warn("Employee snapshot of {} entries exceeds max size {}, not caching it and dropping the cached one",
+                    employees.size(), maxSize);
+            return snapshot;
+        }
+
+        log.info("Employee snapshot v{} loaded: {} employees in {} ms ({})", snapshot.getVersion(), employees.size(),
+                Duration.ofNanos(snapshot.getLoadedAtNanos() - start).toMillis(), getStats());
+        return snapshot;
+    }
+
+    private synchronized EmployeeSnapshot publish(List<Employee> employees, boolean cacheable) {
+        checkPlausible(employees);
+        long now = nanoClock.getAsLong();
+        List<Employee> stored = store(employees);
+        Map<String, Long> fingerprints = compact ? null : new HashMap<>(employees.size() * 2);
+        EmployeeSnapshot snapshot;
+
+        if (published == null) {
+            if (!compact) {
+                employees.forEach(employee -> fingerprints.put(employee.getId(), EmployeeFingerprint.of(employee)));
+            }
+            snapshot = new EmployeeSnapshot(stored, versions.incrementAndGet(), now);
+            listeners.forEach(listener -> listener.onSnapshot(snapshot.getEmployees()));
+        } else {
+            EmployeeDelta delta = compact
+                    ? EmployeeDelta.compute((CompactEmployeeList) published.getEmployees(), (CompactEmployeeList) stored)
+                    : EmployeeDelta.compute(publishedFingerprints, employees, fingerprints);
+            boolean changed = !delta.isEmpty();
+            if (changed) {
+                snapshot = new EmployeeSnapshot(stored, versions.incrementAndGet(), now);
+                log.debug("Employee snapshot v{} delta: {}", snapshot.getVersion(), delta);
+            } else {
+                snapshot = published.reloadedAt(now);
+            }
+            for (EmployeeSnapshotListener listener : listeners) {
+                if (listener.needsFullSnapshot()) {
+                    listener.onSnapshot(snapshot.getEmployees(), delta);
+                } else if (changed) {
+                    listener.onDelta(delta, snapshot.getEmployees());
+                }
+            }
+        }
+
+        // An oversized snapshot still moves listeners and fingerprints on, so the older one must not be served
+        current.set(cacheable ? snapshot : null);
+        published = snapshot;
+        publishedFingerprints = fingerprints;
+        return snapshot;
+    }
+
+    private void checkPlausible(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            throw new IllegalStateException("External API returned no employees");
+        }
+        int previous = published != null ? published.getEmployees().size() : 0;
+        if (employees.size() < previous * (1 - maxShrink) && !shrinkSeen) {
+            shrinkSeen = true;
+            throw new IllegalStateException("Employee list shrank from " + previous + " to " + employees.size()
+                    + " employees, waiting for the next refresh to confirm it");
+        }
+        shrinkSeen = false;
+    }
+
+    private List<Employee> store(List<Employee> employees) {
+        return compact ? CompactEmployeeList.of(employees) : employees;
+    }
+
+    // A rejected completion would otherwise be thrown at the refresh thread and leave the future incomplete
+    private static Executor orCallerRuns(Executor executor) {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+}
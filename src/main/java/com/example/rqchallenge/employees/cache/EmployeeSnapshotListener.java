@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.List;
+
+/**
+ * Receives changes to the employee set held by {@link EmployeeSnapshotCache}, so in-memory indexes can stay in
+ * step with it.
+ */
+public interface EmployeeSnapshotListener {
+
+    /**
+     * Called with the full employee list when the first snapshot has been loaded.
+     */
+    void onSnapshot(List<Employee> employees);
+
+    /**
+     * Called instead of {@link #onDelta} with every later loaded snapshot while {@link #needsFullSnapshot()} is
+     * true, together with its changes since the previous snapshot, which may be none. Passes the full list on to
+     * {@link #onSnapshot(List)} unless overridden.
+     *
+     * @param employees the full new employee list
+     * @param delta     the changes since the previous snapshot
+     */
+    default void onSnapshot(List<Employee> employees, EmployeeDelta delta) {
+        onSnapshot(employees);
+    }
+
+    /**
+     * Whether the listener lost changes, e.g. writes it could not persist, and needs the next loaded snapshot in
+     * full to reconcile rather than as a delta.
+     */
+    default boolean needsFullSnapshot() {
+        return false;
+    }
+
+    /**
+     * Called instead of {@link #onSnapshot(List)} when a newly loaded snapshot differs from the previous one
+     * only by the given delta. Applies the delta one employee at a time unless overridden.
+     *
+     * @param delta     the changes since the previous snapshot
+     * @param employees the full new employee list
+     */
+    default void onDelta(EmployeeDelta delta, List<Employee> employees) {
+        delta.getDeleted().forEach(this::onEmployeeDeleted);
+        delta.getInserted().forEach(this::onEmployeeSaved);
+        delta.getUpdated().forEach(this::onEmployeeSaved);
+    }
+
+    /**
+     * Called when a single employee has been created or replaced.
+     */
+    void onEmployeeSaved(Employee employee);
+
+    /**
+     * Called when a single employee has been deleted.
+     */
+    void onEmployeeDeleted(String id);
+}
@@ -0,0 +1,273 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.config.EmployeeStreamReader;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import com.example.rqchallenge.exception.UpstreamErrorException;
+import com.example.rqchallenge.exception.UpstreamException;
+import com.example.rqchallenge.exception.UpstreamTimeoutException;
+import com.example.rqchallenge.util.HttpHeaderUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Thin client for the external employee API. Identical concurrent GETs are coalesced into one upstream call, and
+ * every upstream call goes through the {@link UpstreamCircuitBreaker} and the per-endpoint budget of
+ * {@link UpstreamLimiter}. Expected failures of the API surface as one of the stackless
+ * {@link UpstreamException} types.
+ * <p>
+ * Every call that reaches the external API is timed as {@code employee.upstream.requests}, tagged with the
+ * endpoint and the response status ({@code CLIENT_ERROR} when there was no response). The parsing of list and
+ * by-id responses is timed separately as {@code employee.upstream.deserialization}, next to the body size in
+ * {@code employee.upstream.response.size}; since the body is parsed as it arrives, that time includes reading it
+ * off the socket.
+ */
+@Component
+public class EmployeeApiClient {
+
+    private static final String ALL_EMPLOYEES_ENDPOINT = "/employees";
+    private static final String EMPLOYEE_BY_ID_ENDPOINT = "/employee/";
+    private static final String CREATE_EMPLOYEE_ENDPOINT = "/create";
+    private static final String DELETE_EMPLOYEE_ENDPOINT = "/delete/";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final UpstreamRequestCoalescer coalescer;
+    private final ObjectMapper objectMapper;
+    private final UpstreamLimiter limiter;
+    private final UpstreamCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public EmployeeApiClient(RestTemplate restTemplate,
+                             @Value("${employee.service.endpoint}") String baseUrl,
+                             UpstreamRequestCoalescer coalescer,
+                             ObjectMapper objectMapper,
+                             UpstreamLimiter limiter,
+                             UpstreamCircuitBreaker circuitBreaker,
+                             MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.coalescer = coalescer;
+        this.objectMapper = objectMapper;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+    }
+
+
+    /**
+     * Fetches all employees from the external API.
+     *
+     * @return the employees returned by the API, or an empty list if the response has no data
+     */
+    public List<Employee> fetchAllEmployees() {
+        final String requestUrl = baseUrl + ALL_EMPLOYEES_ENDPOINT;
+        return coalescer.execute(requestUrl, () -> {
+            List<Employee> employees = exchangeForEmployees(UpstreamLimiter.LIST, requestUrl);
+            return employees != null ? employees : Collections.<Employee>emptyList();
+        });
+    }
+
+    /**
+     * Streams all employees from the external API to the consumer while the response is being parsed, without
+     * ever holding the full list. Not coalesced, since every caller needs its own stream.
+     *
+     * @param consumer receives every employee in response order
+     * @return the number of employees streamed
+     */
+    public int streamAllEmployees(Consumer<Employee> consumer) {
+        final String requestUrl = baseUrl + ALL_EMPLOYEES_ENDPOINT;
+        ResponseEntity<Integer> response = call(UpstreamLimiter.LIST, () -> restTemplate.execute(requestUrl, HttpMethod.GET,
+                request -> request.getHeaders().addAll(HttpHeaderUtil.createHeadersWithCookie()),
+                upstreamResponse -> readBody(UpstreamLimiter.LIST, upstreamResponse,
+                        body -> EmployeeStreamReader.readResponse(body, objectMapper.getFactory(), consumer))));
+        Integer count = response != null ? response.getBody() : null;
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Fetches a single employee from the external API.
+     *
+     * @param id the ID of the employee
+     * @return the employee, or null if the response has no data
+     */
+    public Employee fetchEmployeeById(String id) {
+        final String requestUrl = baseUrl + EMPLOYEE_BY_ID_ENDPOINT + id;
+        return coalescer.execute(requestUrl, () -> {
+            List<Employee> employees = exchangeForEmployees(UpstreamLimiter.BY_ID, requestUrl);
+            return employees != null && !employees.isEmpty() ? employees.get(0) : null;
+        });
+    }
+
+    /**
+     * Posts a new employee to the external API.
+     *
+     * @param requestBody the JSON encoded employee
+     * @return the raw response
+     */
+    public ResponseEntity<Employee> createEmployee(String requestBody) {
+        final String requestUrl = baseUrl + CREATE_EMPLOYEE_ENDPOINT;
+        HttpEntity<String> entity = new HttpEntity<>(requestBody, HttpHeaderUtil.createHeadersWithCookie());
+        return call(UpstreamLimiter.CREATE, () -> restTemplate.exchange(requestUrl, HttpMethod.POST, entity, Employee.class));
+    }
+
+    /**
+     * Deletes an employee through the external API.
+     *
+     * @param id the ID of the employee
+     * @return the raw response
+     */
+    public ResponseEntity<String> deleteEmployee(String id) {
+        final String requestUrl = baseUrl + DELETE_EMPLOYEE_ENDPOINT + id;
+        HttpEntity<String> entity = new HttpEntity<>(HttpHeaderUtil.createHeadersWithCookie());
+        return call(UpstreamLimiter.DELETE, () -> restTemplate.exchange(requestUrl, HttpMethod.DELETE, entity, String.class));
+    }
+
+
+    private List<Employee> exchangeForEmployees(String endpoint, String requestUrl) {
+        ResponseEntity<EmployeeResponse> responseEntity = call(endpoint, () -> restTemplate.execute(requestUrl, HttpMethod.GET,
+                request -> request.getHeaders().addAll(HttpHeaderUtil.createHeadersWithCookie()),
+                response -> readBody(endpoint, response, this::parseEmployeeResponse)));
+        EmployeeResponse body = responseEntity != null ? responseEntity.getBody() : null;
+        return body != null ? body.getData() : null;
+    }
+
+    private EmployeeResponse parseEmployeeResponse(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            return parser.nextToken() != null ? objectMapper.readValue(parser, EmployeeResponse.class) : null;
+        }
+    }
+
+    private <T> ResponseEntity<T> readBody(String endpoint, ClientHttpResponse response, BodyReader<T> reader) throws IOException {
+        CountingInputStream body = new CountingInputStream(response.getBody());
+        long start = System.nanoTime();
+        try {
+            return ResponseEntity.status(response.getRawStatusCode()).body(reader.read(body));
+        } finally {
+            Timer.builder("employee.upstream.deserialization")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("employee.upstream.response.size")
+                    .baseUnit("bytes")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(body.count);
+        }
+    }
+
+    /**
+     * Runs an upstream call through the circuit breaker and within the budget of the endpoint, turning a 429
+     * response into a {@link TooManyRequestsException} that carries the {@code Retry-After} delay, a timeout into
+     * an {@link UpstreamTimeoutException}, and a 5xx response or any other I/O failure into an
+     * {@link UpstreamErrorException}.
+     */
+    private <T extends ResponseEntity<?>> T call(String endpoint, Supplier<T> request) {
+        try {
+            return circuitBreaker.execute(() -> limiter.execute(endpoint, () -> timed(endpoint, request)));
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            HttpHeaders headers = e.getResponseHeaders();
+            Duration retryAfter = HttpHeaderUtil.parseRetryAfter(headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null);
+            throw new TooManyRequestsException("Rate limited by the external API", retryAfter);
+        } catch (HttpServerErrorException e) {
+            throw new UpstreamErrorException("External API " + endpoint + " call failed with " + e.getRawStatusCode(),
+                    e.getRawStatusCode(), e);
+        } catch (ResourceAccessException e) {
+            // Connect, read and connection pool timeouts are all InterruptedIOExceptions
+            if (e.getCause() instanceof InterruptedIOException) {
+                throw new UpstreamTimeoutException("External API " + endpoint + " call timed out", e);
+            }
+            throw new UpstreamErrorException("External API " + endpoint + " call failed: " + e.getMessage(), 0, e);
+        }
+    }
+
+    /**
+     * Records the duration and response status of a call that reached the external API. Calls refused by the
+     * limiter or the circuit breaker never get here.
+     */
+    private <T extends ResponseEntity<?>> T timed(String endpoint, Supplier<T> request) {
+        long start = System.nanoTime();
+        String status = "CLIENT_ERROR";
+        try {
+            T response = request.get();
+            if (response != null) {
+                status = Integer.toString(response.getStatusCodeValue());
+            }
+            return response;
+        } catch (RestClientResponseException e) {
+            status = Integer.toString(e.getRawStatusCode());
+            throw e;
+        } finally {
+            Timer.builder("employee.upstream.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.rqchallenge.employees.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at a fixed rate, holding at most {@code burst} tokens.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long refilledAtNanos;
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.refilledAtNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token becomes available
+     */
+    synchronized long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+        refilledAtNanos = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
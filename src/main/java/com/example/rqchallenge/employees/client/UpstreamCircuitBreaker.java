@@ -0,0 +1,221 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around all calls to the external API.
+ * <p>
+ * Keeps the outcome of the last {@code window-size} calls. Once at least {@code minimum-calls} are recorded and
+ * either the failure rate or the rate of calls slower than {@code slow-call-duration} reaches its threshold, the
+ * circuit opens and calls fail immediately with {@link UpstreamUnavailableException}. After {@code open-duration}
+ * up to {@code half-open-calls} probes are let through: one failure opens the circuit again, that many successes
+ * close it.
+ * <p>
+ * Server errors, I/O errors and timeouts count as failures. Client errors (including 429) mean the upstream is
+ * answering, so they count as successes; calls rejected by our own {@link UpstreamLimiter} are not counted.
+ */
+@Component
+public class UpstreamCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamCircuitBreaker.class);
+
+    // Rejections are thrown on every call while open; being stackless, one shared instance each will do
+    private static final UpstreamUnavailableException OPEN_REJECTION =
+            new UpstreamUnavailableException("Circuit breaker for the external API is open");
+    private static final UpstreamUnavailableException HALF_OPEN_REJECTION =
+            new UpstreamUnavailableException("Circuit breaker for the external API is half-open");
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // Ring buffer of the last outcomes, guarded by this
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    @Autowired
+    public UpstreamCircuitBreaker(@Value("${employee.service.circuit-breaker.enabled:true}") boolean enabled,
+                                  @Value("${employee.service.circuit-breaker.window-size:50}") int windowSize,
+                                  @Value("${employee.service.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                  @Value("${employee.service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                  @Value("${employee.service.circuit-breaker.slow-call-duration:3s}") Duration slowCallDuration,
+                                  @Value("${employee.service.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+                                  @Value("${employee.service.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                  @Value("${employee.service.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this(enabled, windowSize, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold,
+                openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    UpstreamCircuitBreaker(boolean enabled, int windowSize, int minimumCalls, double failureRateThreshold,
+                           Duration slowCallDuration, double slowCallRateThreshold, Duration openDuration,
+                           int halfOpenCalls, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.failed = new boolean[Math.max(1, windowSize)];
+        this.slow = new boolean[failed.length];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, failed.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.nanoClock = nanoClock;
+    }
+
+
+    /**
+     * Runs an upstream call if the circuit allows it and records its outcome.
+     *
+     * @param call the upstream call
+     * @return the result of the call
+     * @throws UpstreamUnavailableException if the circuit is open
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        acquirePermission();
+        long start = nanoClock.getAsLong();
+        try {
+            T result = call.get();
+            record(false, nanoClock.getAsLong() - start);
+            return result;
+        } catch (TooManyRequestsException e) {
+            release();
+            throw e;
+        } catch (HttpClientErrorException e) {
+            record(false, nanoClock.getAsLong() - start);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            record(true, nanoClock.getAsLong() - start);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                rejected.increment();
+                throw OPEN_REJECTION;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            log.info("Circuit breaker for the external API is half-open, probing with {} calls", halfOpenCalls);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= halfOpenCalls) {
+                rejected.increment();
+                throw HALF_OPEN_REJECTION;
+            }
+            probesInFlight++;
+        }
+    }
+
+    private synchronized void release() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    private synchronized void record(boolean failure, long durationNanos) {
+        boolean slowCall = durationNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (failure || slowCall) {
+                open("a probe " + (failure ? "failed" : "was slow"));
+            } else if (++probeSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (recorded == failed.length) {
+            failures -= failed[next] ? 1 : 0;
+            slowCalls -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failures += failure ? 1 : 0;
+        slowCalls += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+
+        if (recorded >= minimumCalls) {
+            double failureRate = 100d * failures / recorded;
+            double slowCallRate = 100d * slowCalls / recorded;
+            if (failureRate >= failureRateThreshold) {
+                open(String.format("failure rate %.0f%% over the last %d calls", failureRate, recorded));
+            } else if (slowCallRate >= slowCallRateThreshold) {
+                open(String.format("slow call rate %.0f%% over the last %d calls", slowCallRate, recorded));
+            }
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+        opened.increment();
+        log.warn("Circuit breaker for the external API opened: {}", reason);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        log.info("Circuit breaker for the external API closed");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Client-side rate limit and concurrency bulkhead for each upstream endpoint.
+ * <p>
+ * Every endpoint gets a token bucket ({@code rate-per-second}, {@code burst}) and a cap on calls in flight
+ * ({@code max-concurrent}), read from {@code employee.service.limits.<endpoint>}. A call that finds either budget
+ * exhausted fails straight away with a {@link TooManyRequestsException} instead of queueing behind a slow
+ * upstream; its {@code Retry-After} is the time until the next token. A rate or concurrency of 0 disables that
+ * limit.
+ */
+@Component
+public class UpstreamLimiter {
+
+    public static final String LIST = "list";
+    public static final String BY_ID = "by-id";
+    public static final String CREATE = "create";
+    public static final String DELETE = "delete";
+
+    private final Environment environment;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public UpstreamLimiter(Environment environment) {
+        this.environment = environment;
+    }
+
+
+    /**
+     * Runs an upstream call within the budget of the given endpoint.
+     *
+     * @param endpoint one of {@link #LIST}, {@link #BY_ID}, {@link #CREATE} or {@link #DELETE}
+     * @param call     the upstream call
+     * @return the result of the call
+     * @throws TooManyRequestsException if the endpoint has no token or no free slot left
+     */
+    public <T> T execute(String endpoint, Supplier<T> call) {
+        return limit(endpoint).execute(call);
+    }
+
+    public Limit limit(String endpoint) {
+        return limits.computeIfAbsent(endpoint, this::createLimit);
+    }
+
+
+    private Limit createLimit(String endpoint) {
+        String prefix = "employee.service.limits." + endpoint + ".";
+        double ratePerSecond = environment.getProperty(prefix + "rate-per-second", Double.class, 0d);
+        int burst = environment.getProperty(prefix + "burst", Integer.class, (int) Math.ceil(ratePerSecond));
+        int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 0);
+        return new Limit(endpoint,
+                ratePerSecond > 0 ? new TokenBucket(ratePerSecond, burst, System::nanoTime) : null,
+                maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null);
+    }
+
+
+    /**
+     * Budget of a single upstream endpoint.
+     */
+    public static final class Limit {
+
+        private final String endpoint;
+        private final TokenBucket bucket;
+        private final Semaphore bulkhead;
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder bulkheadFull = new LongAdder();
+
+        Limit(String endpoint, TokenBucket bucket, Semaphore bulkhead) {
+            this.endpoint = endpoint;
+            this.bucket = bucket;
+            this.bulkhead = bulkhead;
+        }
+
+        <T> T execute(Supplier<T> call) {
+            if (bulkhead != null && !bulkhead.tryAcquire()) {
+                bulkheadFull.increment();
+                throw new TooManyRequestsException("Too many concurrent calls to the external API " + endpoint + " endpoint");
+            }
+            try {
+                long waitNanos = bucket != null ? bucket.tryAcquire() : 0;
+                if (waitNanos > 0) {
+                    rateLimited.increment();
+                    throw new TooManyRequestsException("Rate limit for the external API " + endpoint + " endpoint exhausted",
+                            Duration.ofSeconds((long) Math.ceil(waitNanos / 1_000_000_000d)));
+                }
+                return call.get();
+            } finally {
+                if (bulkhead != null) {
+                    bulkhead.release();
+                }
+            }
+        }
+
+        public long getRateLimitedCount() {
+            return rateLimited.sum();
+        }
+
+        public long getBulkheadFullCount() {
+            return bulkheadFull.sum();
+        }
+
+        /**
+         * Free concurrency slots, or -1 when concurrency is not limited.
+         */
+        public int getAvailableSlots() {
+            return bulkhead != null ? bulkhead.availablePermits() : -1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.rqchallenge.employees.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical upstream calls into a single in-flight call.
+ * <p>
+ * The first caller for a key performs the call on its own thread; callers arriving while it is in flight
+ * wait for and share its result (or its exception).
+ */
+@Component
+public class UpstreamRequestCoalescer {
+
+    private final boolean enabled;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public UpstreamRequestCoalescer(@Value("${employee.service.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+
+    /**
+     * Executes the call, or joins an identical call already in flight.
+     *
+     * @param key  identifies identical calls, typically the request URL
+     * @param call performs the upstream call
+     * @return the result of the shared call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        if (!enabled) {
+            executed.increment();
+            return call.get();
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        executed.increment();
+        try {
+            T result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Number of calls that actually reached the upstream.
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * Number of calls that were served by joining another in-flight call.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.cache.EmployeeDelta;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Trigram index over employee names for case-insensitive substring search.
+ * <p>
+ * Each snapshot is indexed once into an immutable base: the lower-cased names and, for every trigram, the
+ * sorted ids of the names containing it. A query of three or more characters only verifies the names on the
+ * shortest posting list of its trigrams; shorter queries scan the pre-lower-cased names. Single-employee
+ * changes go into a small overlay on top of the base until the next snapshot replaces it.
+ * <p>
+ * Disabled with compact snapshots, which match each distinct name of their dictionary instead.
+ */
+@Component
+public class NameSearchIndex implements EmployeeSnapshotListener {
+
+    private static final int GRAM = 3;
+    private static final int MAX_OVERLAY = 1024;
+    private static final int[] NO_DOCS = new int[0];
+
+    private volatile State state = new State(new Entry[0], Collections.emptyMap(), Collections.emptyMap(),
+            new BitSet(), Collections.emptyMap());
+    private final boolean enabled;
+
+    public NameSearchIndex(@Value("${employee.service.cache.compact:false}") boolean compact) {
+        this.enabled = !compact;
+    }
+
+
+    /**
+     * Finds employees whose name contains the given text, ignoring case.
+     *
+     * @param text   the text to search for
+     * @param offset the number of matches to skip
+     * @param limit  the maximum number of matches to return
+     * @return the matching employees in snapshot order
+     */
+    public List<Employee> search(String text, int offset, int limit) {
+        List<Employee> matches = new ArrayList<>(Math.min(limit, 64));
+        if (limit <= 0) {
+            return matches;
+        }
+        int[] skip = {offset};
+        forEachMatch(text, employee -> {
+            if (skip[0] > 0) {
+                skip[0]--;
+            } else {
+                matches.add(employee);
+            }
+            return matches.size() < limit;
+        });
+        return matches;
+    }
+
+    /**
+     * Passes every employee whose name contains the given text, ignoring case, to the consumer in snapshot order.
+     *
+     * @return the number of matches
+     */
+    public int forEach(String text, Consumer<Employee> consumer) {
+        int[] count = new int[1];
+        forEachMatch(text, employee -> {
+            consumer.accept(employee);
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Counts the employees whose name contains the given text, ignoring case, without materializing them.
+     */
+    public int count(String text) {
+        int[] count = new int[1];
+        forEachMatch(text, employee -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void onSnapshot(List<Employee> employees) {
+        if (!enabled) {
+            return;
+        }
+        Entry[] docs = new Entry[employees.size()];
+        Map<String, Integer> docIds = new HashMap<>(employees.size() * 2);
+        Map<Long, GrowableIntArray> postings = new HashMap<>();
+
+        for (int doc = 0; doc < docs.length; doc++) {
+            Employee employee = employees.get(doc);
+            Entry entry = new Entry(employee);
+            docs[doc] = entry;
+            docIds.put(employee.getId(), doc);
+
+            String name = entry.lowerName;
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                postings.computeIfAbsent(trigram(name, i), key -> new GrowableIntArray()).addIfLast(doc);
+            }
+        }
+
+        Map<Long, int[]> frozen = new HashMap<>(postings.size() * 2);
+        postings.forEach((key, list) -> frozen.put(key, list.toArray()));
+        state = new State(docs, frozen, docIds, new BitSet(), Collections.emptyMap());
+    }
+
+    /**
+     * Applies the delta to the overlay in one step, or re-indexes the whole list once the overlay would grow
+     * past {@value #MAX_OVERLAY} entries.
+     */
+    @Override
+    public synchronized void onDelta(EmployeeDelta delta, List<Employee> employees) {
+        if (!enabled) {
+            return;
+        }
+        if (state.added.size() + delta.size() > MAX_OVERLAY) {
+            onSnapshot(employees);
+            return;
+        }
+        List<Employee> saved = new ArrayList<>(delta.getInserted());
+        saved.addAll(delta.getUpdated());
+        applyChanges(saved, delta.getDeleted());
+    }
+
+    @Override
+    public synchronized void onEmployeeSaved(Employee employee) {
+        applyChanges(Collections.singletonList(employee), Collections.emptyList());
+    }
+
+    @Override
+    public synchronized void onEmployeeDeleted(String id) {
+        applyChanges(Collections.emptyList(), Collections.singletonList(id));
+    }
+
+
+    private void applyChanges(List<Employee> saved, List<String> deleted) {
+        if (!enabled) {
+            return;
+        }
+        State current = state;
+        Map<String, Entry> added = new LinkedHashMap<>(current.added);
+        BitSet removed = (BitSet) current.removed.clone();
+
+        for (String id : deleted) {
+            added.remove(id);
+            removeFromBase(current, removed, id);
+        }
+        for (Employee employee : saved) {
+            removeFromBase(current, removed, employee.getId());
+            added.put(employee.getId(), new Entry(employee));
+        }
+        state = current.withOverlay(removed, added);
+    }
+
+    // Visits the matches in snapshot order, then the overlay, until the visitor returns false
+    private void forEachMatch(String text, Predicate<Employee> visitor) {
+        State current = state;
+        String query = text.toLowerCase(Locale.ROOT);
+
+        if (query.length() < GRAM) {
+            for (int doc = 0; doc < current.docs.length; doc++) {
+                if (current.isLive(doc) && current.docs[doc].lowerName.contains(query)
+                        && !visitor.test(current.docs[doc].employee)) {
+                    return;
+                }
+            }
+        } else {
+            for (int doc : current.candidates(query)) {
+                if (current.isLive(doc) && current.docs[doc].lowerName.contains(query)
+                        && !visitor.test(current.docs[doc].employee)) {
+                    return;
+                }
+            }
+        }
+
+        for (Entry entry : current.added.values()) {
+            if (entry.lowerName.contains(query) && !visitor.test(entry.employee)) {
+                return;
+            }
+        }
+    }
+
+    private static void removeFromBase(State current, BitSet removed, String id) {
+        Integer doc = current.docIds.get(id);
+        if (doc != null) {
+            removed.set(doc);
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+
+    private static final class Entry {
+        private final Employee employee;
+        private final String lowerName;
+
+        private Entry(Employee employee) {
+            this.employee = employee;
+            this.lowerName = employee.getName() == null ? "" : employee.getName().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class State {
+        private final Entry[] docs;
+        private final Map<Long, int[]> postings;
+        private final Map<String, Integer> docIds;
+        private final BitSet removed;
+        private final Map<String, Entry> added;
+
+        private State(Entry[] docs, Map<Long, int[]> postings, Map<String, Integer> docIds,
+                      BitSet removed, Map<String, Entry> added) {
+            this.docs = docs;
+            this.postings = postings;
+            this.docIds = docIds;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        private State withOverlay(BitSet removed, Map<String, Entry> added) {
+            return new State(docs, postings, docIds, removed, added);
+        }
+
+        private boolean isLive(int doc) {
+            return !removed.get(doc);
+        }
+
+        /**
+         * Returns the shortest posting list among the query's trigrams; every match is on it.
+         */
+        private int[] candidates(String query) {
+            int[] shortest = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                int[] docs = postings.get(trigram(query, i));
+                if (docs == null) {
+                    return NO_DOCS;
+                }
+                if (shortest == null || docs.length < shortest.length) {
+                    shortest = docs;
+                }
+            }
+            return shortest;
+        }
+    }
+
+    private static final class GrowableIntArray {
+        private int[] values = new int[4];
+        private int size;
+
+        private void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Employees ordered by salary, highest first, kept in step with the snapshot cache.
+ * <p>
+ * The highest salary is the head of the ordering and the top K names are the first K distinct names, so
+ * neither needs a scan or a sort per request. Reads are lock free; updates are serialized.
+ * <p>
+ * Disabled with compact snapshots, which answer these queries from their salary column instead of holding every
+ * employee a second time.
+ */
+@Component
+public class SalaryIndex implements EmployeeSnapshotListener {
+
+    private static final Comparator<Employee> BY_SALARY_DESC = Comparator
+            .comparingLong(Employee::getSalary).reversed()
+            .thenComparing(Employee::getId);
+
+    private final boolean enabled;
+    private volatile State state = new State(new ConcurrentSkipListSet<>(BY_SALARY_DESC), new ConcurrentHashMap<>());
+
+    public SalaryIndex(@Value("${employee.service.cache.compact:false}") boolean compact) {
+        this.enabled = !compact;
+    }
+
+
+    /**
+     * Returns the highest salary in the index.
+     *
+     * @return the highest salary, or null if the index is empty
+     */
+    public Long getHighestSalary() {
+        Iterator<Employee> iterator = state.bySalary.iterator();
+        return iterator.hasNext() ? iterator.next().getSalary() : null;
+    }
+
+    /**
+     * Returns the names of the highest earning employees, highest first, without duplicates.
+     *
+     * @param k the maximum number of names to return
+     * @return up to k distinct names
+     */
+    public List<String> getTopEarningNames(int k) {
+        Set<String> names = new LinkedHashSet<>();
+        Iterator<Employee> iterator = state.bySalary.iterator();
+        while (names.size() < k && iterator.hasNext()) {
+            names.add(iterator.next().getName());
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Iterates the employees in salary order without copying them.
+     *
+     * @param descending highest salary first if true, otherwise lowest first
+     * @param after      exclusive starting point in that order (only its salary and id are compared), or null to
+     *                   start at the top
+     * @return a weakly consistent iterator
+     */
+    public Iterator<Employee> iterator(boolean descending, Employee after) {
+        NavigableSet<Employee> ordered = descending ? state.bySalary : state.bySalary.descendingSet();
+        return after != null ? ordered.tailSet(after, false).iterator() : ordered.iterator();
+    }
+
+    /**
+     * The order of {@link #iterator(boolean, Employee)}: by salary, ties broken by id in the opposite direction
+     * when ascending.
+     */
+    public static Comparator<Employee> order(boolean descending) {
+        return descending ? BY_SALARY_DESC : BY_SALARY_DESC.reversed();
+    }
+
+    public int size() {
+        return state.byId.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void onSnapshot(List<Employee> employees) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Employee> byId = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            byId.put(employee.getId(), employee);
+        }
+        ConcurrentSkipListSet<Employee> bySalary = new ConcurrentSkipListSet<>(BY_SALARY_DESC);
+        bySalary.addAll(byId.values());
+        state = new State(bySalary, new ConcurrentHashMap<>(byId));
+    }
+
+    @Override
+    public synchronized void onEmployeeSaved(Employee employee) {
+        if (!enabled) {
+            return;
+        }
+        State current = state;
+        Employee previous = current.byId.put(employee.getId(), employee);
+        if (previous != null) {
+            current.bySalary.remove(previous);
+        }
+        current.bySalary.add(employee);
+    }
+
+    @Override
+    public synchronized void onEmployeeDeleted(String id) {
+        State current = state;
+        Employee previous = current.byId.remove(id);
+        if (previous != null) {
+            current.bySalary.remove(previous);
+        }
+    }
+
+
+    private static final class State {
+        private final ConcurrentSkipListSet<Employee> bySalary;
+        private final ConcurrentHashMap<String, Employee> byId;
+
+        private State(ConcurrentSkipListSet<Employee> bySalary, ConcurrentHashMap<String, Employee> byId) {
+            this.bySalary = bySalary;
+            this.byId = byId;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rqchallenge.employees.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Employees whose age lies in {@code [from, to]}, with their salary totals.
+ */
+public class AgeBand {
+
+    @JsonProperty("from")
+    private final int from;
+    @JsonProperty("to")
+    private final int to;
+    @JsonProperty("count")
+    private final long count;
+    @JsonProperty("salary_sum")
+    private final long salarySum;
+    @JsonProperty("average_salary")
+    private final double averageSalary;
+    @JsonProperty("max_salary")
+    private final long maxSalary;
+
+    public AgeBand(int from, int to, long count, long salarySum, long maxSalary) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+        this.salarySum = salarySum;
+        this.averageSalary = (double) salarySum / count;
+        this.maxSalary = maxSalary;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSalarySum() {
+        return salarySum;
+    }
+
+    public double getAverageSalary() {
+        return averageSalary;
+    }
+
+    public long getMaxSalary() {
+        return maxSalary;
+    }
+}
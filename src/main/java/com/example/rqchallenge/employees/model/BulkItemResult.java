@@ -0,0 +1,78 @@
+package com.example.rqchallenge.employees.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one item of a bulk create or delete, reported with the HTTP status the single-item endpoint would
+ * have returned.
+ */
+public class BulkItemResult {
+
+    @JsonProperty("index")
+    private final int index;
+    @JsonProperty("status")
+    private final int status;
+    @JsonProperty("id")
+    private final String id;
+    @JsonProperty("employee")
+    private final Employee employee;
+    @JsonProperty("name")
+    private final String name;
+    @JsonProperty("error")
+    private final String error;
+
+    private BulkItemResult(int index, int status, String id, Employee employee, String name, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.employee = employee;
+        this.name = name;
+        this.error = error;
+    }
+
+    public static BulkItemResult created(int index, Employee employee) {
+        return new BulkItemResult(index, 200, employee.getId(), employee, employee.getName(), null);
+    }
+
+    public static BulkItemResult deleted(int index, String id, String name) {
+        return new BulkItemResult(index, 200, id, null, name, null);
+    }
+
+    public static BulkItemResult failed(int index, int status, String id, String error) {
+        return new BulkItemResult(index, status, id, null, null, error);
+    }
+
+    /**
+     * Position of the item in the request.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The created employee, or null for a delete or on failure.
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return status == 200;
+    }
+}
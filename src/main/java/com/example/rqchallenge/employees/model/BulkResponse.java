@@ -0,0 +1,42 @@
+package com.example.rqchallenge.employees.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Per-item results of a bulk create or delete, in request order.
+ */
+public class BulkResponse {
+
+    @JsonProperty("succeeded")
+    private final int succeeded;
+    @JsonProperty("failed")
+    private final int failed;
+    @JsonProperty("results")
+    private final List<BulkItemResult> results;
+
+    public BulkResponse(List<BulkItemResult> results) {
+        int ok = 0;
+        for (BulkItemResult result : results) {
+            if (result.isSuccess()) {
+                ok++;
+            }
+        }
+        this.succeeded = ok;
+        this.failed = results.size() - ok;
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<BulkItemResult> getResults() {
+        return results;
+    }
+}
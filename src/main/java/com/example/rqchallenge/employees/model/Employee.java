@@ -4,9 +4,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_employee_salary", columnList = "salary DESC, id")
+})
 public class Employee {
 
     @Id
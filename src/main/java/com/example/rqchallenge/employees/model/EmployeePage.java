@@ -0,0 +1,60 @@
+package com.example.rqchallenge.employees.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * One page of a paged employee query. Rows are employees, or maps of the selected fields when a projection
+ * was requested.
+ */
+public class EmployeePage {
+
+    @JsonProperty("data")
+    private final List<?> data;
+    @JsonProperty("page")
+    private final Integer page;
+    @JsonProperty("size")
+    private final int size;
+    @JsonProperty("total")
+    private final int total;
+    @JsonProperty("next_cursor")
+    private final String nextCursor;
+
+    public EmployeePage(List<?> data, Integer page, int size, int total, String nextCursor) {
+        this.data = data;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<?> getData() {
+        return data;
+    }
+
+    /**
+     * The page number, or null for a cursor page.
+     */
+    public Integer getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of employees across all pages.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Cursor of the next page, or null when this is the last page or the query is unsorted.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rqchallenge.employees.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary distribution of all employees. Everything but the count and the histogram is null when there are no
+ * employees.
+ */
+public class SalaryStatistics {
+
+    @JsonProperty("count")
+    private final long count;
+    @JsonProperty("sum")
+    private final long sum;
+    @JsonProperty("mean")
+    private final Double mean;
+    @JsonProperty("standard_deviation")
+    private final Double standardDeviation;
+    @JsonProperty("min")
+    private final Long min;
+    @JsonProperty("max")
+    private final Long max;
+    @JsonProperty("percentiles")
+    private final Map<String, Long> percentiles;
+    @JsonProperty("histogram")
+    private final List<Bucket> histogram;
+
+    public SalaryStatistics(long count, long sum, Double mean, Double standardDeviation, Long min, Long max,
+                            Map<String, Long> percentiles, List<Bucket> histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+        this.min = min;
+        this.max = max;
+        this.percentiles = percentiles;
+        this.histogram = histogram;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    /**
+     * Population standard deviation.
+     */
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public Long getMin() {
+        return min;
+    }
+
+    public Long getMax() {
+        return max;
+    }
+
+    /**
+     * Nearest-rank percentiles keyed {@code p50}, {@code p90} and so on.
+     */
+    public Map<String, Long> getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * Equal-width salary ranges from the lowest to the highest salary.
+     */
+    public List<Bucket> getHistogram() {
+        return histogram;
+    }
+
+
+    /**
+     * Number of employees whose salary lies in {@code [from, to]}.
+     */
+    public static class Bucket {
+
+        @JsonProperty("from")
+        private final long from;
+        @JsonProperty("to")
+        private final long to;
+        @JsonProperty("count")
+        private final long count;
+
+        public Bucket(long from, long to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public long getTo() {
+            return to;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
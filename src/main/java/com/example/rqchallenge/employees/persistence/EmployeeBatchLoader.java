@@ -0,0 +1,124 @@
+package com.example.rqchallenge.employees.persistence;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads employees from {@link EmployeeRepository} by id in batches.
+ * <p>
+ * Ids requested within {@code batch-window} of the first one are collected and looked up with a single
+ * {@code findAllById} query, or earlier once {@code max-batch-size} ids are waiting. Concurrent requests for the
+ * same id share one slot of the batch. Callers wait at most the window plus the query.
+ */
+@Component
+public class EmployeeBatchLoader {
+
+    private final EmployeeRepository employeeRepository;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+
+    // Guarded by this
+    private Map<String, CompletableFuture<Employee>> pending = new HashMap<>();
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder loaded = new LongAdder();
+
+    public EmployeeBatchLoader(EmployeeRepository employeeRepository,
+                               @Value("${employee.service.lookup.batch-window:2ms}") Duration batchWindow,
+                               @Value("${employee.service.lookup.max-batch-size:500}") int maxBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.windowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "employee-batch-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Looks the employee up with the next batch.
+     *
+     * @param id the ID of the employee
+     * @return a future of the stored employee, completing with null if it is not stored
+     */
+    public CompletableFuture<Employee> load(String id) {
+        CompletableFuture<Employee> future;
+        synchronized (this) {
+            future = pending.get(id);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (pending.size() >= maxBatchSize) {
+                executor.execute(this::flush);
+            } else if (pending.size() == 1) {
+                executor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Number of {@code findAllById} queries run.
+     */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /**
+     * Number of ids looked up over all queries.
+     */
+    public long getLoadedCount() {
+        return loaded.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    // A flush scheduled for an earlier batch may take a newer one early, which only shortens its wait
+    private void flush() {
+        Map<String, CompletableFuture<Employee>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        queries.increment();
+        loaded.add(batch.size());
+        try {
+            for (Employee employee : employeeRepository.findAllById(batch.keySet())) {
+                CompletableFuture<Employee> future = batch.get(employee.getId());
+                if (future != null) {
+                    future.complete(employee);
+                }
+            }
+            batch.values().forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
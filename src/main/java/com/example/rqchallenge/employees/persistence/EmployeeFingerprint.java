@@ -0,0 +1,43 @@
+package com.example.rqchallenge.employees.persistence;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.Objects;
+
+/**
+ * 64-bit content fingerprint of an employee, covering every persisted field except the id.
+ */
+public final class EmployeeFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EmployeeFingerprint() {
+    }
+
+    public static long of(Employee employee) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, employee.getName());
+        hash = mix(hash, employee.getSalary());
+        hash = mix(hash, employee.getAge());
+        hash = mix(hash, employee.getProfileImage());
+        return hash;
+    }
+
+
+    private static long mix(long hash, String value) {
+        String text = Objects.toString(value, "");
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        // separator so that ("ab", "c") and ("a", "bc") differ
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.rqchallenge.employees.persistence;
+
+import com.example.rqchallenge.employees.cache.EmployeeDelta;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotListener;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind stage between the snapshot cache and {@link EmployeeRepository}.
+ * <p>
+ * Receives the first snapshot in full and only the inserts, updates and deletes of later snapshots. The table
+ * outlives the process, so the first snapshot also deletes the persisted employees it no longer contains, e.g.
+ * those deleted upstream while the service was down. Writes are
+ * queued without blocking the caller and applied by a background thread in batches of {@code batch-size}, each
+ * saved as one JDBC batch of upserts. The snapshot cache already skips unchanged employees, so the queue keeps no
+ * per-employee state of its own beyond the ids of lost writes.
+ * <p>
+ * When the queue is full, further writes are dropped; when a batch fails, its writes are lost. Either way the
+ * queue asks the snapshot cache for the next loaded snapshot in full and reconciles against it: every employee
+ * whose save was lost is saved again along with the changes of that snapshot, and every lost delete of an id
+ * missing from it is retried.
+ * <p>
+ * Each batch save is timed as {@code employee.repository.save-all}, tagged with its outcome, and its size is
+ * recorded in {@code employee.repository.save-all.batch-size}.
+ */
+@Component
+public class EmployeeWriteBehindQueue implements EmployeeSnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Set<String> lostSaves = ConcurrentHashMap.newKeySet();
+    private final Set<String> lostDeletes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reconcileNeeded = new AtomicBoolean();
+    private final AtomicBoolean pruneNeeded = new AtomicBoolean(true);
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final Timer saveAllSuccess;
+    private final Timer saveAllFailure;
+    private final DistributionSummary saveAllBatchSize;
+
+    public EmployeeWriteBehindQueue(EmployeeRepository employeeRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${employee.service.persistence.write-behind:true}") boolean enabled,
+                                    @Value("${employee.service.persistence.queue-capacity:100000}") int queueCapacity,
+                                    @Value("${employee.service.persistence.batch-size:500}") int batchSize,
+                                    @Value("${employee.service.persistence.flush-interval:1s}") Duration flushInterval) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.saveAllSuccess = Timer.builder("employee.repository.save-all").tag("outcome", "success").register(meterRegistry);
+        this.saveAllFailure = Timer.builder("employee.repository.save-all").tag("outcome", "failure").register(meterRegistry);
+        this.saveAllBatchSize = DistributionSummary.builder("employee.repository.save-all.batch-size").register(meterRegistry);
+        this.flusher = new Thread(this::runFlusher, "employee-write-behind");
+        this.flusher.setDaemon(true);
+        if (enabled) {
+            this.flusher.start();
+        }
+    }
+
+
+    @Override
+    public void onSnapshot(List<Employee> employees) {
+        reconcile(employees, employees, Collections.emptyList());
+    }
+
+    @Override
+    public void onSnapshot(List<Employee> employees, EmployeeDelta delta) {
+        List<Employee> saves = lostSavesIn(employees);
+        saves.addAll(delta.getInserted());
+        saves.addAll(delta.getUpdated());
+        reconcile(employees, saves, delta.getDeleted());
+    }
+
+    private void reconcile(List<Employee> employees, List<Employee> saves, List<String> changedDeletes) {
+        // Cleared first, so writes lost while reconciling ask for the next snapshot again
+        reconcileNeeded.set(false);
+        List<String> deletes = new ArrayList<>(changedDeletes);
+        boolean prune = pruneNeeded.getAndSet(false);
+        if (prune || !lostDeletes.isEmpty()) {
+            Set<String> present = new HashSet<>(employees.size() * 2);
+            employees.forEach(employee -> present.add(employee.getId()));
+            for (String id : lostDeletes) {
+                lostDeletes.remove(id);
+                if (!present.contains(id)) {
+                    deletes.add(id);
+                }
+            }
+            if (prune) {
+                deletes.addAll(persistedIdsMissingFrom(present));
+            }
+        }
+        enqueue(saves, deletes);
+    }
+
+    /**
+     * Employees of a full snapshot whose last save was lost. Ids missing from it were deleted since.
+     */
+    private List<Employee> lostSavesIn(List<Employee> employees) {
+        List<Employee> lost = new ArrayList<>();
+        if (lostSaves.isEmpty()) {
+            skipped.add(employees.size());
+            return lost;
+        }
+        Set<String> pending = new HashSet<>();
+        for (String id : lostSaves) {
+            lostSaves.remove(id);
+            pending.add(id);
+        }
+        for (Employee employee : employees) {
+            if (pending.remove(employee.getId())) {
+                lost.add(employee);
+            }
+        }
+        skipped.add(employees.size() - lost.size());
+        return lost;
+    }
+
+    /**
+     * Ids persisted before this process started that the given snapshot no longer contains. A failed read is
+     * retried against the next full snapshot.
+     */
+    private List<String> persistedIdsMissingFrom(Set<String> present) {
+        try {
+            List<String> missing = new ArrayList<>();
+            for (String id : employeeRepository.findAllIds()) {
+                if (!present.contains(id)) {
+                    missing.add(id);
+                }
+            }
+            return missing;
+        } catch (Exception e) {
+            pruneNeeded.set(true);
+            reconcileNeeded.set(true);
+            log.error("Failed to read persisted employee ids until the next sync: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public boolean needsFullSnapshot() {
+        return reconcileNeeded.get();
+    }
+
+    @Override
+    public void onDelta(EmployeeDelta delta, List<Employee> employees) {
+        List<Employee> changed = new ArrayList<>(delta.getInserted());
+        changed.addAll(delta.getUpdated());
+        enqueue(changed, delta.getDeleted());
+    }
+
+    @Override
+    public void onEmployeeSaved(Employee employee) {
+        enqueue(Collections.singletonList(employee), Collections.emptyList());
+    }
+
+    @Override
+    public void onEmployeeDeleted(String id) {
+        enqueue(Collections.emptyList(), Collections.singletonList(id));
+    }
+
+    /**
+     * Queues the given saves and deletes. Never blocks on the database, unless write-behind is disabled and they
+     * are applied right away; failures are then handled as for a failed batch, never thrown at the caller.
+     *
+     * @param employees the employees to save
+     * @param ids       the ids of the employees to delete
+     */
+    public void enqueue(Collection<Employee> employees, Collection<String> ids) {
+        if (!enabled) {
+            write(employees, ids);
+            return;
+        }
+
+        int droppedNow = 0;
+        for (String id : ids) {
+            lostSaves.remove(id);
+            if (queue.offer(PendingWrite.delete(id))) {
+                enqueued.increment();
+            } else {
+                lostDeletes.add(id);
+                droppedNow++;
+            }
+        }
+        for (Employee employee : employees) {
+            if (queue.offer(PendingWrite.save(employee))) {
+                enqueued.increment();
+            } else {
+                lostSaves.add(employee.getId());
+                droppedNow++;
+            }
+        }
+
+        if (droppedNow > 0) {
+            dropped.add(droppedNow);
+            reconcileNeeded.set(true);
+            log.warn("Write-behind queue full, dropped {} writes until the next sync reconciles them", droppedNow);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    public long getDeletedCount() {
+        return deleted.sum();
+    }
+
+    public long getFlushFailureCount() {
+        return flushFailures.sum();
+    }
+
+    /**
+     * Duration of the most recent batch save.
+     */
+    public Duration getLastFlushLatency() {
+        return Duration.ofNanos(lastFlushNanos.get());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        flushRemaining();
+    }
+
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        // Keep only the latest write per id, so one session never touches the same id twice
+        // and the order between a save and a delete of the same employee is preserved
+        Map<String, PendingWrite> latest = new LinkedHashMap<>(batch.size() * 2);
+        for (PendingWrite write : batch) {
+            latest.put(write.id, write);
+        }
+        List<Employee> saves = new ArrayList<>(latest.size());
+        List<String> deletes = new ArrayList<>();
+        for (PendingWrite write : latest.values()) {
+            if (write.employee != null) {
+                saves.add(write.employee);
+            } else {
+                deletes.add(write.id);
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            write(saves, deletes);
+        } finally {
+            lastFlushNanos.set(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Applies the deletes and saves right away. A failure is logged and leaves them to the next reconcile.
+     */
+    private void write(Collection<Employee> saves, Collection<String> deletes) {
+        try {
+            if (!deletes.isEmpty()) {
+                employeeRepository.deleteAllByIdInBatch(deletes);
+                deleted.add(deletes.size());
+            }
+            if (!saves.isEmpty()) {
+                saveAll(saves);
+                flushed.add(saves.size());
+            }
+        } catch (Exception e) {
+            flushFailures.increment();
+            saves.forEach(employee -> lostSaves.add(employee.getId()));
+            lostDeletes.addAll(deletes);
+            reconcileNeeded.set(true);
+            log.error("Failed to persist batch of {} employees until the next sync reconciles it: {}",
+                    saves.size() + deletes.size(), e.getMessage());
+        }
+    }
+
+    private void saveAll(Collection<Employee> employees) {
+        long start = System.nanoTime();
+        Timer timer = saveAllFailure;
+        try {
+            employeeRepository.upsertAll(employees);
+            timer = saveAllSuccess;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            saveAllBatchSize.record(employees.size());
+        }
+    }
+
+
+    private static final class PendingWrite {
+        private final String id;
+        private final Employee employee;
+
+        private PendingWrite(String id, Employee employee) {
+            this.id = id;
+            this.employee = employee;
+        }
+
+        private static PendingWrite save(Employee employee) {
+            return new PendingWrite(employee.getId(), employee);
+        }
+
+        private static PendingWrite delete(String id) {
+            return new PendingWrite(id, null);
+        }
+    }
+}
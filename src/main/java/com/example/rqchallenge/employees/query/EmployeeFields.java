@@ -0,0 +1,99 @@
+package com.example.rqchallenge.employees.query;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Field projection of a paged employee query, parsed from {@code fields=id,employee_name,...}. Projected rows
+ * keep the JSON names of {@link Employee}.
+ */
+public final class EmployeeFields {
+
+    private enum Field {
+        ID("id"), NAME("employee_name"), SALARY("employee_salary"), AGE("employee_age"), PROFILE_IMAGE("profile_image");
+
+        private final String jsonName;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+    }
+
+    private final Set<Field> fields;
+
+    private EmployeeFields(Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated field list. Fields are given by their JSON names or as {@code id}, {@code name},
+     * {@code salary}, {@code age} and {@code profile_image}.
+     *
+     * @param value the parameter value, may be null
+     * @return the projection, or null if the value is null or blank and employees are returned whole
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public static EmployeeFields parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (String name : value.split(",")) {
+            fields.add(parseField(name.trim().toLowerCase(Locale.ROOT)));
+        }
+        return new EmployeeFields(fields);
+    }
+
+    /**
+     * Returns the selected fields of the employee, in declaration order.
+     */
+    public Map<String, Object> project(Employee employee) {
+        Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+        for (Field field : fields) {
+            row.put(field.jsonName, value(field, employee));
+        }
+        return row;
+    }
+
+
+    private static Object value(Field field, Employee employee) {
+        switch (field) {
+            case ID:
+                return employee.getId();
+            case NAME:
+                return employee.getName();
+            case SALARY:
+                return employee.getSalary();
+            case AGE:
+                return employee.getAge();
+            default:
+                return employee.getProfileImage();
+        }
+    }
+
+    private static Field parseField(String name) {
+        switch (name) {
+            case "id":
+                return Field.ID;
+            case "name":
+            case "employee_name":
+                return Field.NAME;
+            case "salary":
+            case "employee_salary":
+                return Field.SALARY;
+            case "age":
+            case "employee_age":
+                return Field.AGE;
+            case "profile_image":
+            case "profileimage":
+                return Field.PROFILE_IMAGE;
+            default:
+                throw new IllegalArgumentException("Unknown field: " + name);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.rqchallenge.employees.query;
+
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Sort order of a paged employee query, parsed from {@code sort=<field>[,asc|desc]}, plus the keyset cursors that
+ * continue a page in that order. Ties are broken by id, so the order is total and cursors are stable.
+ */
+public final class EmployeeSort {
+
+    public enum Field {
+        ID, NAME, SALARY, AGE
+    }
+
+    /**
+     * Order used for cursor paging when no sort is requested.
+     */
+    public static final EmployeeSort BY_ID = new EmployeeSort(Field.ID, false);
+
+    private final Field field;
+    private final boolean descending;
+    private final Comparator<Employee> comparator;
+
+    private EmployeeSort(Field field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+        this.comparator = comparator(field, descending);
+    }
+
+    /**
+     * Parses a sort parameter such as {@code salary,desc}. Fields are {@code id}, {@code name}, {@code salary} and
+     * {@code age}, also accepted as their JSON names; the direction defaults to ascending.
+     *
+     * @param value the parameter value, may be null
+     * @return the sort, or null if the value is null or blank
+     * @throws IllegalArgumentException if the field or direction is unknown
+     */
+    public static EmployeeSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String[] parts = value.split(",");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: " + value);
+        }
+        Field field = parseField(parts[0].trim().toLowerCase(Locale.ROOT));
+        boolean descending = false;
+        if (parts.length == 2) {
+            String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new IllegalArgumentException("Invalid sort direction: " + parts[1]);
+            }
+            descending = direction.equals("desc");
+        }
+        return new EmployeeSort(field, descending);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Comparator<Employee> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Encodes the position right after the given employee in this order.
+     */
+    public String cursorAfter(Employee employee) {
+        String value;
+        switch (field) {
+            case NAME:
+                value = employee.getName();
+                break;
+            case SALARY:
+                value = Long.toString(employee.getSalary());
+                break;
+            case AGE:
+                value = Integer.toString(employee.getAge());
+                break;
+            default:
+                value = "";
+        }
+        // A null name leaves the value out, an empty one keeps the trailing comma
+        String cursor = field + "," + (descending ? "desc" : "asc") + "," + employee.getId()
+                + (value != null ? "," + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor of this order into a probe employee holding only the sorted field and the id.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another order
+     */
+    public Employee decodeCursor(String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        boolean nullName = field == Field.NAME && parts.length == 3;
+        if (parts.length != 4 && !nullName || !parts[0].equals(field.name()) || !parts[1].equals(descending ? "desc" : "asc")) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            String id = parts[2];
+            String value = nullName ? null : parts[3];
+            switch (field) {
+                case NAME:
+                    return new Employee(id, value, 0, 0, "");
+                case SALARY:
+                    return new Employee(id, "", Long.parseLong(value), 0, "");
+                case AGE:
+                    return new Employee(id, "", 0, Integer.parseInt(value), "");
+                default:
+                    return new Employee(id, "", 0, 0, "");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+
+    private static Field parseField(String name) {
+        switch (name) {
+            case "id":
+                return Field.ID;
+            case "name":
+            case "employee_name":
+                return Field.NAME;
+            case "salary":
+            case "employee_salary":
+                return Field.SALARY;
+            case "age":
+            case "employee_age":
+                return Field.AGE;
+            default:
+                throw new IllegalArgumentException("Unknown sort field: " + name);
+        }
+    }
+
+    private static Comparator<Employee> comparator(Field field, boolean descending) {
+        switch (field) {
+            case SALARY:
+                // Same order as the salary index, so salary pages can walk it directly
+                return SalaryIndex.order(descending);
+            case NAME:
+                return withIdTieBreak(Comparator.comparing(Employee::getName,
+                        Comparator.nullsLast(Comparator.naturalOrder())), descending);
+            case AGE:
+                return withIdTieBreak(Comparator.comparingInt(Employee::getAge), descending);
+            default:
+                Comparator<Employee> byId = Comparator.comparing(Employee::getId);
+                return descending ? byId.reversed() : byId;
+        }
+    }
+
+    private static Comparator<Employee> withIdTieBreak(Comparator<Employee> order, boolean descending) {
+        Comparator<Employee> withTieBreak = order.thenComparing(Employee::getId);
+        return descending ? withTieBreak.reversed() : withTieBreak;
+    }
+}
@@ -1,11 +1,60 @@
 package com.example.rqchallenge.employees.repository;
 
 import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, EmployeeUpsertRepository {
 
     Employee findTopByOrderBySalaryDesc();
+
+    /**
+     * Ids of all stored employees, read off the primary key index.
+     */
+    @Query("select e.id from Employee e")
+    List<String> findAllIds();
+
+    /**
+     * Highest salary over all stored employees, answered from the salary index.
+     */
+    @Query("select max(e.salary) from Employee e")
+    Long findHighestSalary();
+
+    /**
+     * Names in descending salary order, read off the salary index page by page; a name shared by several
+     * employees appears once for each of them.
+     */
+    @Query("select e.name from Employee e order by e.salary desc, e.id")
+    List<String> findNamesBySalaryDesc(Pageable pageable);
+
+    /**
+     * Case-insensitive substring match on the name, answered from the trigram index created by
+     * {@code db/search-indexes.sql}.
+     *
+     * @param pattern the search term with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT * FROM employee WHERE name ILIKE '%' || :pattern || '%' ORDER BY id OFFSET :offset LIMIT :limit",
+            nativeQuery = true)
+    List<Employee> searchByName(@Param("pattern") String pattern, @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Number of employees {@link #searchByName} finds over all pages.
+     *
+     * @param pattern the search term with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT count(*) FROM employee WHERE name ILIKE '%' || :pattern || '%'", nativeQuery = true)
+    int countByName(@Param("pattern") String pattern);
+
+    /**
+     * Whether the trigram index {@link #searchByName} relies on exists; it is missing when
+     * {@code db/search-indexes.sql} could not create the {@code pg_trgm} extension.
+     */
+    @Query(value = "SELECT count(*) > 0 FROM pg_indexes WHERE indexname = 'idx_employee_name_trgm'", nativeQuery = true)
+    boolean hasNameTrigramIndex();
 }
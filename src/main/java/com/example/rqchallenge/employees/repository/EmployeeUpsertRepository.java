@@ -0,0 +1,19 @@
+package com.example.rqchallenge.employees.repository;
+
+import com.example.rqchallenge.employees.model.Employee;
+
+import java.util.Collection;
+
+/**
+ * Bulk writes {@link EmployeeRepository} adds to the JPA ones.
+ */
+public interface EmployeeUpsertRepository {
+
+    /**
+     * Inserts the given employees, or overwrites the stored ones with the same id, without reading them first.
+     * Sent as a single JDBC batch in one transaction.
+     *
+     * @param employees the employees to write, at most one per id
+     */
+    void upsertAll(Collection<Employee> employees);
+}
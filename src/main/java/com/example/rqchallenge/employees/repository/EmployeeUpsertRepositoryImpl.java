@@ -0,0 +1,40 @@
+package com.example.rqchallenge.employees.repository;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Native PostgreSQL upsert behind {@link EmployeeUpsertRepository}. {@code saveAll} merges entities with an
+ * assigned id, which costs a SELECT per employee before the batched INSERT or UPDATE; {@code ON CONFLICT} lets
+ * the database decide instead.
+ */
+class EmployeeUpsertRepositoryImpl implements EmployeeUpsertRepository {
+
+    private static final String UPSERT = "INSERT INTO employee (id, name, salary, age, profile_image) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, salary = EXCLUDED.salary, age = EXCLUDED.age, "
+            + "profile_image = EXCLUDED.profile_image";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmployeeUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAll(Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, employees, employees.size(), (statement, employee) -> {
+            statement.setString(1, employee.getId());
+            statement.setString(2, employee.getName());
+            statement.setLong(3, employee.getSalary());
+            statement.setInt(4, employee.getAge());
+            statement.setString(5, employee.getProfileImage());
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rqchallenge.employees.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Warns at startup when the trigram index behind database name search is missing, active with
+ * {@code employee.service.read-source=database}.
+ * <p>
+ * {@code db/search-indexes.sql} creates the index on top of the {@code pg_trgm} extension. Creating an extension
+ * needs the {@code CREATE} privilege on the database (superuser before PostgreSQL 13), and Spring only logs the
+ * failed statements, so without this check search silently falls back to scanning the table.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.service.read-source", havingValue = "database")
+public class NameSearchIndexCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(NameSearchIndexCheck.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    public NameSearchIndexCheck(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @PostConstruct
+    public void check() {
+        try {
+            if (!employeeRepository.hasNameTrigramIndex()) {
+                log.warn("Index idx_employee_name_trgm is missing, name search will scan the employee table. "
+                        + "Run 'CREATE EXTENSION pg_trgm' as a role allowed to create extensions and restart.");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not check for index idx_employee_name_trgm: {}", e.getMessage());
+        }
+    }
+}
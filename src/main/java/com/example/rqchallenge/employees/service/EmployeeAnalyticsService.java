@@ -0,0 +1,123 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.analytics.EmployeeAggregator;
+import com.example.rqchallenge.employees.model.AgeBand;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.SalaryStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Salary and age analytics over the employee snapshot, computed by an {@link EmployeeAggregator} on a dedicated
+ * fork-join pool of {@code parallelism} threads.
+ * <p>
+ * Results are kept until the snapshot changes. A snapshot's list is never modified and every new version comes
+ * with a new list, so the identity of the list stands for the snapshot version.
+ */
+@Service
+public class EmployeeAnalyticsService {
+
+    static final int MAX_BUCKETS = 1000;
+    static final int MAX_BAND_WIDTH = 100;
+
+    private final EmployeeService employeeService;
+    private final ForkJoinPool pool;
+    private final EmployeeAggregator aggregator;
+    private volatile Results results = new Results(null);
+
+    public EmployeeAnalyticsService(EmployeeService employeeService,
+                                    @Value("${employee.service.analytics.parallelism:0}") int parallelism) {
+        this.employeeService = employeeService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.aggregator = new EmployeeAggregator(pool);
+    }
+
+
+    /**
+     * Returns the salary distribution of all employees.
+     *
+     * @param buckets the maximum number of histogram buckets
+     * @return the statistics
+     * @throws IllegalArgumentException if buckets is not between 1 and {@value #MAX_BUCKETS}
+     */
+    public SalaryStatistics getSalaryStatistics(int buckets) {
+        checkBuckets(buckets);
+        return cached("salary:" + buckets, employees -> aggregator.salaryStatistics(employees, buckets));
+    }
+
+    /**
+     * Returns employee counts and salaries per age band.
+     *
+     * @param width the width of a band in years
+     * @return the non-empty bands, youngest first
+     * @throws IllegalArgumentException if width is not between 1 and {@value #MAX_BAND_WIDTH}
+     */
+    public List<AgeBand> getAgeBands(int width) {
+        checkWidth(width);
+        return cached("age-bands:" + width, employees -> aggregator.ageBands(employees, width));
+    }
+
+    /**
+     * Validates the buckets of {@link #getSalaryStatistics}, so a request can be rejected before its ETag is
+     * checked.
+     *
+     * @throws IllegalArgumentException if buckets is not between 1 and {@value #MAX_BUCKETS}
+     */
+    public static void checkBuckets(int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + MAX_BUCKETS);
+        }
+    }
+
+    /**
+     * Validates the width of {@link #getAgeBands}, so a request can be rejected before its ETag is checked.
+     *
+     * @throws IllegalArgumentException if width is not between 1 and {@value #MAX_BAND_WIDTH}
+     */
+    public static void checkWidth(int width) {
+        if (width < 1 || width > MAX_BAND_WIDTH) {
+            throw new IllegalArgumentException("width must be between 1 and " + MAX_BAND_WIDTH);
+        }
+    }
+
+    /**
+     * ETag of the analytics, to be read before them. They are always computed from the snapshot.
+     */
+    public String getETag() {
+        return employeeService.getEmployeesETag();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Function<List<Employee>, T> computation) {
+        List<Employee> employees = employeeService.getAllEmployees();
+        Results current = results;
+        if (current.employees != employees) {
+            current = new Results(employees);
+            results = current;
+        }
+        return (T) current.values.computeIfAbsent(key, ignored -> computation.apply(employees));
+    }
+
+
+    private static final class Results {
+        private final List<Employee> employees;
+        private final ConcurrentMap<String, Object> values = new ConcurrentHashMap<>();
+
+        private Results(List<Employee> employees) {
+            this.employees = employees;
+        }
+    }
+}
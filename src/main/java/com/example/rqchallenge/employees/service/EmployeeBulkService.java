@@ -0,0 +1,274 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.model.BulkItemResult;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRequest;
+import com.example.rqchallenge.exception.ResourceNotFoundException;
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import com.example.rqchallenge.exception.UpstreamException;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Creates and deletes batches of employees.
+ * <p>
+ * Items go to the external API through a pool of {@code parallelism} threads, so up to that many calls are in
+ * flight over the pooled keep-alive connections at once. Each batch keeps at most {@code parallelism} of its items
+ * queued or running, so concurrent batches share the pool rather than waiting behind one another. An item that
+ * runs into a rate limit is rescheduled after its {@code Retry-After} without holding a pool thread. A batch
+ * answers within {@code max-wait}: items not done by then are reported as 504 and not started any more. Deletes
+ * skip the lookup of the employee's name when the snapshot already has it. The snapshot is updated once per batch.
+ */
+@Service
+public class EmployeeBulkService {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeBulkService.class);
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final EmployeeService employeeService;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final int parallelism;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-bulk-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeBulkService(EmployeeService employeeService,
+                               EmployeeSnapshotCache snapshotCache,
+                               @Value("${employee.service.bulk.parallelism:4}") int parallelism,
+                               @Value("${employee.service.bulk.max-batch-size:1000}") int maxBatchSize,
+                               @Value("${employee.service.bulk.max-wait:30s}") Duration maxWait) {
+        this.employeeService = employeeService;
+        this.snapshotCache = snapshotCache;
+        this.parallelism = parallelism;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "employee-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Creates the given employees.
+     *
+     * @param employeeRequests the employees to create
+     * @return one result per request, in request order
+     * @throws IllegalArgumentException if the batch is larger than {@code max-batch-size}
+     */
+    public List<BulkItemResult> createEmployees(List<EmployeeRequest> employeeRequests) {
+        checkBatchSize(employeeRequests.size());
+        Batch batch = new Batch(employeeRequests.size(), index -> null,
+                index -> createEmployee(index, employeeRequests.get(index)), this::putCreated);
+        return batch.run();
+    }
+
+    /**
+     * Deletes the employees with the given ids.
+     *
+     * @param ids the ids of the employees to delete
+     * @return one result per id, in request order
+     * @throws IllegalArgumentException if the batch is larger than {@code max-batch-size}
+     */
+    public List<BulkItemResult> deleteEmployees(List<String> ids) {
+        checkBatchSize(ids.size());
+        Batch batch = new Batch(ids.size(), ids::get, index -> deleteEmployee(index, ids.get(index)), this::removeDeleted);
+        return batch.run();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+
+    private BulkItemResult createEmployee(int index, EmployeeRequest employeeRequest) {
+        Employee employee = employeeService.createEmployee(employeeRequest, false);
+        return employee != null
+                ? BulkItemResult.created(index, employee)
+                : BulkItemResult.failed(index, 500, null, "Failed to create employee");
+    }
+
+    private BulkItemResult deleteEmployee(int index, String id) {
+        String name = employeeService.deleteEmployee(id, false);
+        return name != null
+                ? BulkItemResult.deleted(index, id, name)
+                : BulkItemResult.failed(index, 500, id, "Failed to delete employee");
+    }
+
+    private void putCreated(List<BulkItemResult> results) {
+        List<Employee> created = new ArrayList<>(results.size());
+        for (BulkItemResult result : results) {
+            if (result.isSuccess() && result.getId() != null && !result.getId().isEmpty()) {
+                created.add(result.getEmployee());
+            }
+        }
+        snapshotCache.putAll(created);
+    }
+
+    private void removeDeleted(List<BulkItemResult> results) {
+        List<String> deleted = new ArrayList<>(results.size());
+        for (BulkItemResult result : results) {
+            if (result.isSuccess()) {
+                deleted.add(result.getId());
+            }
+        }
+        snapshotCache.removeAll(deleted);
+    }
+
+    private static BulkItemResult failed(int index, String id, RuntimeException e) {
+        if (e instanceof UpstreamException) {
+            return BulkItemResult.failed(index, ((UpstreamException) e).getStatus().value(), id, e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return BulkItemResult.failed(index, 400, id, e.getMessage());
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return BulkItemResult.failed(index, 404, id, e.getMessage());
+        }
+        log.error("Error occurred while processing bulk item {}: {}", index, e.getMessage());
+        return BulkItemResult.failed(index, 500, id, "Internal error");
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch of " + size + " exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+
+    /**
+     * One bulk request. A result slot is filled exactly once, by the item or by the timeout, so an item finishing
+     * after the batch answered still gets its snapshot update, on its own.
+     */
+    private final class Batch {
+        private final int size;
+        private final IntFunction<String> ids;
+        private final IntFunction<BulkItemResult> item;
+        private final Consumer<List<BulkItemResult>> onDone;
+        private final long deadline = System.nanoTime() + maxWaitNanos;
+        private final AtomicReferenceArray<BulkItemResult> results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Batch(int size, IntFunction<String> ids, IntFunction<BulkItemResult> item,
+                      Consumer<List<BulkItemResult>> onDone) {
+            this.size = size;
+            this.ids = ids;
+            this.item = item;
+            this.onDone = onDone;
+            this.results = new AtomicReferenceArray<>(size);
+            this.remaining = new AtomicInteger(size);
+        }
+
+        private List<BulkItemResult> run() {
+            if (size == 0) {
+                return new ArrayList<>();
+            }
+            for (int i = 0; i < Math.min(parallelism, size); i++) {
+                startNext();
+            }
+            try {
+                done.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Whatever is still missing is reported as timed out below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<BulkItemResult> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                BulkItemResult result = results.get(i);
+                if (result == null) {
+                    BulkItemResult timedOut = BulkItemResult.failed(i, 504, ids.apply(i), "Not completed within max-wait");
+                    result = results.compareAndSet(i, null, timedOut) ? timedOut : results.get(i);
+                }
+                list.add(result);
+            }
+            onDone.accept(list);
+            return list;
+        }
+
+        private void startNext() {
+            int index = next.getAndIncrement();
+            if (index < size) {
+                submit(index);
+            }
+        }
+
+        private void submit(int index) {
+            try {
+                executor.execute(() -> attempt(index));
+            } catch (RejectedExecutionException e) {
+                complete(index, failed(index, ids.apply(index), e));
+            }
+        }
+
+        private void attempt(int index) {
+            if (results.get(index) != null) {
+                return;
+            }
+            BulkItemResult result;
+            try {
+                result = item.apply(index);
+            } catch (TooManyRequestsException e) {
+                long waitNanos = e.getRetryAfter().map(Duration::toNanos).orElse(RETRY_BACKOFF_NANOS);
+                if (System.nanoTime() + waitNanos - deadline < 0) {
+                    try {
+                        retryScheduler.schedule(() -> submit(index), waitNanos, TimeUnit.NANOSECONDS);
+                        return;
+                    } catch (RejectedExecutionException rejected) {
+                        // Shutting down, report the rate limit
+                    }
+                }
+                result = failed(index, ids.apply(index), e);
+            } catch (RuntimeException e) {
+                result = failed(index, ids.apply(index), e);
+            }
+            complete(index, result);
+        }
+
+        private void complete(int index, BulkItemResult result) {
+            if (!results.compareAndSet(index, null, result)) {
+                if (result.isSuccess()) {
+                    onDone.accept(Collections.singletonList(result));
+                }
+                return;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            } else {
+                startNext();
+            }
+        }
+    }
+}
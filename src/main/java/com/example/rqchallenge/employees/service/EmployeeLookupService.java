@@ -0,0 +1,117 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.cache.EmployeeNotFoundCache;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeBatchLoader;
+import com.example.rqchallenge.exception.UpstreamException;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache-aside by-ID lookups, cheapest source first: the id map of the current snapshot, then the ids recently
+ * found missing, then the database, read in batches across concurrent lookups, and the external API only when
+ * none of them knows the employee.
+ * <p>
+ * Employees missing upstream too are remembered in the {@link EmployeeNotFoundCache}, so lookups of unknown ids
+ * do not keep spending the upstream budget.
+ */
+@Service
+public class EmployeeLookupService {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeLookupService.class);
+
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeNotFoundCache notFoundCache;
+    private final EmployeeBatchLoader batchLoader;
+    private final EmployeeApiClient employeeApiClient;
+    private final boolean databaseEnabled;
+
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder databaseHits = new LongAdder();
+    private final LongAdder upstreamLookups = new LongAdder();
+
+    public EmployeeLookupService(EmployeeSnapshotCache snapshotCache,
+                                 EmployeeNotFoundCache notFoundCache,
+                                 EmployeeBatchLoader batchLoader,
+                                 EmployeeApiClient employeeApiClient,
+                                 @Value("${employee.service.lookup.database:true}") boolean databaseEnabled) {
+        this.snapshotCache = snapshotCache;
+        this.notFoundCache = notFoundCache;
+        this.batchLoader = batchLoader;
+        this.employeeApiClient = employeeApiClient;
+        this.databaseEnabled = databaseEnabled;
+    }
+
+
+    /**
+     * Looks an employee up by ID.
+     *
+     * @param id the ID of the employee
+     * @return the employee with the given ID, or null if it does not exist
+     * @throws UpstreamException if the employee is not stored and the external API failed
+     */
+    public Employee findById(String id) {
+        Employee employee = snapshotCache.getCachedEmployee(id);
+        if (employee != null) {
+            snapshotHits.increment();
+            return employee;
+        }
+        if (notFoundCache.isNotFound(id)) {
+            return null;
+        }
+
+        employee = findInDatabase(id);
+        if (employee != null) {
+            databaseHits.increment();
+            return employee;
+        }
+
+        upstreamLookups.increment();
+        try {
+            employee = employeeApiClient.fetchEmployeeById(id);
+        } catch (HttpClientErrorException.NotFound e) {
+            employee = null;
+        }
+        if (employee == null) {
+            notFoundCache.markNotFound(id);
+        }
+        return employee;
+    }
+
+    public long getSnapshotHitCount() {
+        return snapshotHits.sum();
+    }
+
+    public long getNotFoundHitCount() {
+        return notFoundCache.getHitCount();
+    }
+
+    public long getDatabaseHitCount() {
+        return databaseHits.sum();
+    }
+
+    public long getUpstreamLookupCount() {
+        return upstreamLookups.sum();
+    }
+
+
+    // A failing database only costs the lookup its cheaper tier, the external API still answers
+    private Employee findInDatabase(String id) {
+        if (!databaseEnabled) {
+            return null;
+        }
+        try {
+            return batchLoader.load(id).join();
+        } catch (CompletionException e) {
+            log.warn("Database lookup of employee {} failed: {}", id, e.getCause().getMessage());
+            return null;
+        }
+    }
+}
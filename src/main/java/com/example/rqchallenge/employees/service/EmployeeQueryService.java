@@ -0,0 +1,163 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeePage;
+import com.example.rqchallenge.employees.query.EmployeeFields;
+import com.example.rqchallenge.employees.query.EmployeeSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Paged, sorted and projected views of the employee list and of name search results.
+ * <p>
+ * Only the requested page is ever materialized: unsorted pages are views of the snapshot, unsorted search pages
+ * are cut by the name index or the database query, which also count the matches, salary pages walk the salary
+ * index, and other orders keep just the first {@code offset + size} rows in a bounded heap, fed one match at a
+ * time by sorted searches. Cursor pages
+ * continue after the last row of the previous page, so their cost does not grow with the page number.
+ */
+@Service
+public class EmployeeQueryService {
+
+    private final EmployeeService employeeService;
+    private final SalaryIndex salaryIndex;
+    private final int maxPageSize;
+
+    public EmployeeQueryService(EmployeeService employeeService,
+                                SalaryIndex salaryIndex,
+                                @Value("${employee.service.search.max-results:1000}") int maxPageSize) {
+        this.employeeService = employeeService;
+        this.salaryIndex = salaryIndex;
+        this.maxPageSize = maxPageSize;
+    }
+
+
+    /**
+     * Returns one page of employees.
+     *
+     * @param searchString only employees whose name contains this text, or null for all employees
+     * @param page         the zero-based page number, ignored when a cursor is given
+     * @param size         the page size, capped at the configured search limit
+     * @param cursor       the next cursor of the previous page, or null
+     * @param sort         the sort parameter, or null for snapshot order (id order with a cursor)
+     * @param fields       the field projection, or null for whole employees
+     * @return the page
+     * @throws IllegalArgumentException if a parameter is invalid
+     */
+    public EmployeePage getPage(String searchString, int page, int size, String cursor, String sort, String fields) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must be >= 0 and size >= 1");
+        }
+        int limit = Math.min(size, maxPageSize);
+        EmployeeSort order = EmployeeSort.parse(sort);
+        if (order == null && cursor != null) {
+            order = EmployeeSort.BY_ID;
+        }
+        EmployeeFields projection = EmployeeFields.parse(fields);
+        Employee after = cursor != null ? order.decodeCursor(cursor) : null;
+        int offset = cursor != null ? 0 : (int) Math.min(Integer.MAX_VALUE, (long) page * limit);
+
+        if (order == null && searchString != null) {
+            List<Employee> rows = employeeService.getEmployeesByNameSearch(searchString, offset, limit);
+            return new EmployeePage(project(projection, rows), page, limit,
+                    employeeService.countEmployeesByNameSearch(searchString), null);
+        }
+
+        int count = (int) Math.min(Integer.MAX_VALUE - 1, (long) offset + limit);
+        if (searchString != null) {
+            BoundedHeap heap = new BoundedHeap(order.comparator(), after, count);
+            int total = employeeService.streamEmployeesByNameSearch(searchString, heap::offer);
+            List<Employee> selected = heap.sorted();
+            List<Employee> rows = selected.subList(Math.min(offset, selected.size()), selected.size());
+            return page(order, projection, rows, heap.matched > selected.size(), cursor, page, limit, total);
+        }
+
+        List<Employee> source = employeeService.getAllEmployees();
+        List<Employee> rows;
+        boolean hasMore;
+        if (order == null) {
+            int from = Math.min(offset, source.size());
+            int to = (int) Math.min(source.size(), (long) from + limit);
+            rows = source.subList(from, to);
+            hasMore = to < source.size();
+        } else if (order.getField() == EmployeeSort.Field.SALARY && salaryIndex.isEnabled()) {
+            rows = new ArrayList<>(limit);
+            Iterator<Employee> iterator = salaryIndex.iterator(order.isDescending(), after);
+            for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (rows.size() < limit && iterator.hasNext()) {
+                rows.add(iterator.next());
+            }
+            hasMore = iterator.hasNext();
+        } else {
+            BoundedHeap heap = new BoundedHeap(order.comparator(), after, count);
+            source.forEach(heap::offer);
+            List<Employee> selected = heap.sorted();
+            hasMore = heap.matched > selected.size();
+            rows = selected.subList(Math.min(offset, selected.size()), selected.size());
+        }
+        return page(order, projection, rows, hasMore, cursor, page, limit, source.size());
+    }
+
+
+    private static EmployeePage page(EmployeeSort order, EmployeeFields projection, List<Employee> rows, boolean hasMore,
+                                     String cursor, int page, int limit, int total) {
+        String nextCursor = order != null && hasMore && !rows.isEmpty() ? order.cursorAfter(rows.get(rows.size() - 1)) : null;
+        return new EmployeePage(project(projection, rows), cursor != null ? null : page, limit, total, nextCursor);
+    }
+
+
+    private static List<?> project(EmployeeFields projection, List<Employee> rows) {
+        return projection != null
+                ? rows.stream().map(projection::project).collect(Collectors.toList())
+                : rows;
+    }
+
+
+    /**
+     * Keeps the first {@code count} employees after the cursor in the given order out of those offered.
+     */
+    private static final class BoundedHeap {
+        private final Comparator<Employee> order;
+        private final Employee after;
+        private final int count;
+        private final PriorityQueue<Employee> heap;
+        // Employees offered after the cursor
+        private int matched;
+
+        private BoundedHeap(Comparator<Employee> order, Employee after, int count) {
+            this.order = order;
+            this.after = after;
+            this.count = count;
+            this.heap = new PriorityQueue<>(Math.min(count, 1024) + 1, order.reversed());
+        }
+
+        private void offer(Employee employee) {
+            if (after != null && order.compare(employee, after) <= 0) {
+                return;
+            }
+            matched++;
+            if (heap.size() < count) {
+                heap.add(employee);
+            } else if (order.compare(employee, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(employee);
+            }
+        }
+
+        private List<Employee> sorted() {
+            List<Employee> selected = new ArrayList<>(heap);
+            selected.sort(order);
+            return selected;
+        }
+    }
+}
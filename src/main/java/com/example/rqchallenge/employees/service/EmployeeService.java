@@ -1,68 +1,92 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.employees.cache.CompactEmployeeList;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.index.NameSearchIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
 import com.example.rqchallenge.employees.model.Employee;
 import com.example.rqchallenge.employees.model.EmployeeRequest;
-import com.example.rqchallenge.employees.model.EmployeeResponse;
 import com.example.rqchallenge.employees.repository.EmployeeRepository;
-import com.example.rqchallenge.util.HttpHeaderUtil;
+import com.example.rqchallenge.exception.ResourceNotFoundException;
+import com.example.rqchallenge.exception.UpstreamException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.example.rqchallenge.util.RateLimitedLogger;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 @Service
 public class EmployeeService {
 
-    private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
-    private static final String ALL_EMPLOYEES_ENDPOINT = "/employees";
-    private static final String EMPLOYEE_BY_ID_ENDPOINT = "/employee/";
-    private static final String CREATE_EMPLOYEE_ENDPOINT = "/create";
-    private static final String DELETE_EMPLOYEE_ENDPOINT = "/delete/";
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(EmployeeService.class);
+    private static final int TOP_EARNERS_DEFAULT_LIMIT = 10;
+    private static final int TOP_EARNERS_MIN_PAGE = 64;
+    private static final int TOP_EARNERS_MAX_PAGE = 4096;
 
-    private final RestTemplate restTemplate;
-    private final String baseUrl;
+    private final EmployeeApiClient employeeApiClient;
     private final EmployeeRepository employeeRepository;
     private final ObjectMapper objectMapper;
-
-    public EmployeeService(RestTemplate restTemplate,
-                           @Value("${employee.service.endpoint}") String baseUrl,
+    private final EmployeeSnapshotCache snapshotCache;
+    private final SalaryIndex salaryIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final EmployeeLookupService lookupService;
+    private final int searchMaxResults;
+    private final boolean readFromDatabase;
+    private final boolean syncInBackground;
+
+    public EmployeeService(EmployeeApiClient employeeApiClient,
                            EmployeeRepository employeeRepository,
-                           ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
-        this.baseUrl = baseUrl;
+                           ObjectMapper objectMapper,
+                           EmployeeSnapshotCache snapshotCache,
+                           SalaryIndex salaryIndex,
+                           NameSearchIndex nameSearchIndex,
+                           EmployeeLookupService lookupService,
+                           @Value("${employee.service.search.max-results:1000}") int searchMaxResults,
+                           @Value("${employee.service.read-source:memory}") String readSource,
+                           @Value("${employee.service.sync.enabled:false}") boolean syncEnabled) {
+        this.employeeApiClient = employeeApiClient;
         this.employeeRepository = employeeRepository;
         this.objectMapper = objectMapper;
+        this.snapshotCache = snapshotCache;
+        this.salaryIndex = salaryIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.lookupService = lookupService;
+        this.searchMaxResults = searchMaxResults;
+        this.readFromDatabase = "database".equalsIgnoreCase(readSource);
+        this.syncInBackground = syncEnabled || readFromDatabase;
     }
 
 
     /**
-     * Fetches all employees from the external API and saves them to the repository.
+     * Returns all employees, served from the snapshot cache and refreshed from the external API when stale.
+     * With background sync, the latest synced snapshot is served as is and only the very first read may load.
      *
      * @return a list of all employees, or an empty list if an error occurs
      */
     public List<Employee> getAllEmployees() {
-        final String requestUrl = baseUrl + ALL_EMPLOYEES_ENDPOINT;
-        HttpHeaders headers = HttpHeaderUtil.createHeadersWithCookie();
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
         try {
-            ResponseEntity<EmployeeResponse> responseEntity = restTemplate.exchange(requestUrl, HttpMethod.GET, entity, EmployeeResponse.class);
-            EmployeeResponse response = responseEntity.getBody();
-            List<Employee> employees = Optional.ofNullable(response).map(EmployeeResponse::getData).orElse(Collections.emptyList());
-
-            if (!employees.isEmpty()) {
-                employeeRepository.saveAll(employees);
+            List<Employee> synced = syncInBackground ? snapshotCache.getIfPresent() : null;
+            if (synced != null) {
+                return synced;
             }
-            return employees;
-        } catch (Exception e) {
+            return snapshotCache.get(this::fetchAllEmployees);
+        } catch (RestClientException | DataAccessException | IllegalStateException e) {
             log.error("Error while fetching employees from External API", e);
             return Collections.emptyList();
         }
@@ -76,43 +100,79 @@ public class EmployeeService {
      * @return a list of employees whose names contain the search term, or an empty list if an error occurs
      */
     public List<Employee> getEmployeesByNameSearch(String name) {
-        final String requestUrl = baseUrl + ALL_EMPLOYEES_ENDPOINT;
-        HttpHeaders headers = HttpHeaderUtil.createHeadersWithCookie();
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+        return searchEmployeesByName(name, 0, Integer.MAX_VALUE);
+    }
 
-        try {
-            ResponseEntity<EmployeeResponse> responseEntity = restTemplate.exchange(requestUrl, HttpMethod.GET, entity, EmployeeResponse.class);
-            EmployeeResponse response = responseEntity.getBody();
-            List<Employee> employees = Optional.ofNullable(response).map(EmployeeResponse::getData).orElse(Collections.emptyList());
 
-            return employees.stream()
-                    .filter(employee -> employee.getName().toLowerCase().contains(name.toLowerCase()))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error while fetching employees from External API", e);
-            return Collections.emptyList();
+    /**
+     * Searches for employees by name, one page at a time.
+     *
+     * @param name   the name to search for
+     * @param offset the number of matches to skip
+     * @param limit  the maximum number of matches to return, capped at the configured search limit
+     * @return a page of employees whose names contain the search term, or an empty list if an error occurs
+     */
+    public List<Employee> getEmployeesByNameSearch(String name, int offset, int limit) {
+        return searchEmployeesByName(name, offset, Math.min(limit, searchMaxResults));
+    }
+
+
+    /**
+     * Passes every employee whose name contains the search term to the consumer, one at a time, for callers that
+     * keep only a few of them. Database matches are read as one list.
+     *
+     * @param name     the name to search for
+     * @param consumer receives every match
+     * @return the number of matches, or 0 if an error occurs
+     */
+    public int streamEmployeesByNameSearch(String name, Consumer<Employee> consumer) {
+        if (readFromDatabase) {
+            List<Employee> matches = getEmployeesByNameSearch(name);
+            matches.forEach(consumer);
+            return matches.size();
         }
+        List<Employee> employees = getAllEmployees();
+        return employees instanceof CompactEmployeeList
+                ? ((CompactEmployeeList) employees).forEachByName(name, consumer)
+                : nameSearchIndex.forEach(name, consumer);
     }
 
 
     /**
-     * Fetches an employee by ID.
+     * Counts the employees whose names contain the search term, over all pages.
+     *
+     * @param name the name to search for
+     * @return the number of matches, or 0 if an error occurs
+     */
+    public int countEmployeesByNameSearch(String name) {
+        try {
+            if (readFromDatabase) {
+                return employeeRepository.countByName(escapeLike(name));
+            }
+            List<Employee> employees = getAllEmployees();
+            return employees instanceof CompactEmployeeList
+                    ? ((CompactEmployeeList) employees).countByName(name)
+                    : nameSearchIndex.count(name);
+        } catch (DataAccessException e) {
+            log.error("Error while counting employees by name", e);
+            return 0;
+        }
+    }
+
+
+    /**
+     * Gets an employee by ID from the cached snapshot or the database, fetching it from the external API only
+     * when neither has it. See {@link EmployeeLookupService}.
      *
      * @param id the ID of the employee
      * @return the employee with the given ID, or null if not found
+     * @throws UpstreamException if the employee is not stored and the external API failed
      */
     public Employee getEmployeeById(String id) {
-        final String requestUrl = baseUrl + EMPLOYEE_BY_ID_ENDPOINT + id;
-        HttpHeaders headers = HttpHeaderUtil.createHeadersWithCookie();
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
         try {
-            ResponseEntity<EmployeeResponse> responseEntity = restTemplate.exchange(requestUrl, HttpMethod.GET, entity, EmployeeResponse.class);
-            EmployeeResponse response = responseEntity.getBody();
-            List<Employee> employees = Optional.ofNullable(response).map(EmployeeResponse::getData).orElse(null);
-            return employees != null && !employees.isEmpty() ? employees.get(0) : null;
-        } catch (Exception e) {
-            log.error("Error while fetching employee by ID from External API", e);
+            return lookupService.findById(id);
+        } catch (RestClientException e) {
+            log.error("Error while fetching employee by ID", e);
             return null;
         }
     }
@@ -125,19 +185,14 @@ public class EmployeeService {
      */
     public Long getHighestSalaryOfEmployees() {
         try {
-            List<Employee> employees = getAllEmployees();
-            return employees.stream()
-                    .map(Employee::getSalary)
-                    .max(Long::compare)
-                    .orElse(null);
-        } catch (Exception e) {
+            if (readFromDatabase) {
+                return employeeRepository.findHighestSalary();
+            }
+            return highestSalary(getAllEmployees());
+        } catch (DataAccessException e) {
             log.error("Error while fetching the highest salary of employees", e);
             return null;
         }
-
-//        Alternative method: Querying the database directly since we have the data stored
-//            Employee employee = employeeRepository.findTopByOrderBySalaryDesc();
-//            return employee != null ? employee.getSalary() : null;
     }
 
 
@@ -147,22 +202,117 @@ public class EmployeeService {
      * @return a list of the top ten highest earning employee names, or an empty list if an error occurs
      */
     public List<String> getTopTenHighestEarningEmployeeNames() {
+        return getTopHighestEarningEmployeeNames(TOP_EARNERS_DEFAULT_LIMIT);
+    }
+
+
+    /**
+     * Gets the names of the k highest earning employees.
+     *
+     * @param k the maximum number of names to return
+     * @return a list of up to k distinct names ordered by salary, or an empty list if an error occurs
+     */
+    public List<String> getTopHighestEarningEmployeeNames(int k) {
         try {
-            List<Employee> employees = getAllEmployees();
-            return employees.stream()
-                    .sorted((e1, e2) -> Long.compare(e2.getSalary(), e1.getSalary()))
-                    .map(Employee::getName)
-                    .distinct()
-                    .limit(10)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error while fetching the top ten highest earning employee names", e);
+            if (readFromDatabase) {
+                return topEarningNamesFromDatabase(k);
+            }
+            return topEarningNames(getAllEmployees(), k);
+        } catch (DataAccessException e) {
+            log.error("Error while fetching the top {} highest earning employee names", k, e);
             return Collections.emptyList();
         }
+    }
+
+
+    /**
+     * Hands every employee to the consumer one at a time. Employees come from the snapshot cache when it is
+     * enabled, otherwise straight from the upstream response as it is parsed, so the list is never materialized.
+     *
+     * @param consumer receives every employee
+     * @return the number of employees streamed
+     */
+    public int streamAllEmployees(Consumer<Employee> consumer) {
+        if (!snapshotCache.isEnabled()) {
+            return employeeApiClient.streamAllEmployees(consumer);
+        }
+        List<Employee> employees = getAllEmployees();
+        employees.forEach(consumer);
+        return employees.size();
+    }
+
+
+    /**
+     * Non-blocking variant of {@link #getAllEmployees()}. Completes without holding the calling thread while
+     * the snapshot is refreshed from the external API.
+     *
+     * @param executor runs the dependent stages once a refresh the read waited for completes
+     * @return a future of all employees, completing with an empty list if an error occurs
+     */
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync(Executor executor) {
+        List<Employee> synced = syncInBackground ? snapshotCache.getIfPresent() : null;
+        if (synced != null) {
+            return CompletableFuture.completedFuture(synced);
+        }
+        return snapshotCache.getAsync(this::fetchAllEmployees, executor)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (!(cause instanceof RestClientException || cause instanceof DataAccessException
+                            || cause instanceof IllegalStateException)) {
+                        throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(cause);
+                    }
+                    log.error("Error while fetching employees from External API", e);
+                    return Collections.emptyList();
+                });
+    }
+
+
+    /**
+     * Non-blocking variant of {@link #getEmployeesByNameSearch(String)}, returning every match. In database mode
+     * the indexed query runs on the calling thread.
+     */
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String name, Executor executor) {
+        if (readFromDatabase) {
+            return CompletableFuture.completedFuture(getEmployeesByNameSearch(name));
+        }
+        return getAllEmployeesAsync(executor)
+                .thenApply(employees -> searchByName(employees, name, 0, Integer.MAX_VALUE));
+    }
+
+
+    /**
+     * Non-blocking variant of {@link #getEmployeesByNameSearch(String, int, int)}. In database mode the indexed
+     * query runs on the calling thread.
+     */
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String name, int offset, int limit,
+                                                                           Executor executor) {
+        if (readFromDatabase) {
+            return CompletableFuture.completedFuture(getEmployeesByNameSearch(name, offset, limit));
+        }
+        return getAllEmployeesAsync(executor)
+                .thenApply(employees -> searchByName(employees, name, offset, Math.min(limit, searchMaxResults)));
+    }
+
+
+    /**
+     * Non-blocking variant of {@link #getHighestSalaryOfEmployees()}.
+     */
+    public CompletableFuture<Long> getHighestSalaryOfEmployeesAsync(Executor executor) {
+        if (readFromDatabase) {
+            return CompletableFuture.completedFuture(getHighestSalaryOfEmployees());
+        }
+        return getAllEmployeesAsync(executor).thenApply(this::highestSalary);
+    }
 
-        // Alternative approach: Querying the database directly for the top 10 highest earning employees
-        // This can be done using a distinct top 10 query on the database via the repository.
-        // Example: SELECT DISTINCT name FROM employees ORDER BY salary DESC LIMIT 10;
+
+    /**
+     * Non-blocking variant of {@link #getTopHighestEarningEmployeeNames(int)}.
+     */
+    public CompletableFuture<List<String>> getTopHighestEarningEmployeeNamesAsync(int k, Executor executor) {
+        if (readFromDatabase) {
+            return CompletableFuture.completedFuture(getTopHighestEarningEmployeeNames(k));
+        }
+        return getAllEmployeesAsync(executor).thenApply(employees -> topEarningNames(employees, k));
     }
 
 
@@ -173,6 +323,14 @@ public class EmployeeService {
      * @return the created employee, or null if an error occurs
      */
     public Employee createEmployee(EmployeeRequest employeeRequest) {
+        return createEmployee(employeeRequest, true);
+    }
+
+    /**
+     * Creates a new employee, optionally leaving the snapshot untouched so a batch can apply all of its
+     * employees at once with {@link EmployeeSnapshotCache#putAll}.
+     */
+    Employee createEmployee(EmployeeRequest employeeRequest, boolean updateCache) {
         Employee employee = Employee.builder()
                 .setId(employeeRequest.getId())
                 .setName(employeeRequest.getName())
@@ -180,27 +338,28 @@ public class EmployeeService {
                 .setAge(Integer.parseInt(employeeRequest.getAge()))
                 .build();
 
-        final String requestUrl = baseUrl + CREATE_EMPLOYEE_ENDPOINT;
-        HttpHeaders headers = HttpHeaderUtil.createHeadersWithCookie();
-        HttpEntity<String> entity;
+        String requestBody;
 
         try {
-            String requestBody = objectMapper.writeValueAsString(employee);
-            entity = new HttpEntity<>(requestBody, headers);
+            requestBody = objectMapper.writeValueAsString(employee);
         } catch (Exception e) {
             log.error("Error occurred while creating request entity: {}", e.getMessage());
             return null;
         }
 
         try {
-            ResponseEntity<Employee> response = restTemplate.exchange(requestUrl, HttpMethod.POST, entity, Employee.class);
+            ResponseEntity<Employee> response = employeeApiClient.createEmployee(requestBody);
             if (response.getStatusCode() == HttpStatus.OK) {
-                return response.getBody();
+                Employee createdEmployee = response.getBody();
+                if (updateCache && createdEmployee != null && createdEmployee.getId() != null && !createdEmployee.getId().isEmpty()) {
+                    snapshotCache.put(createdEmployee);
+                }
+                return createdEmployee;
             } else {
                 log.error("Failed to create employee, status code: {}", response.getStatusCode());
                 return null;
             }
-        } catch (Exception e) {
+        } catch (RestClientException e) {
             log.error("Error occurred while creating employee: {}", e.getMessage());
             return null;
         }
@@ -214,29 +373,159 @@ public class EmployeeService {
      * @return the name of the deleted employee, or null if an error occurs
      */
     public String deleteEmployee(String id) {
-    final String requestUrl = baseUrl + DELETE_EMPLOYEE_ENDPOINT + id;
-    HttpHeaders headers = HttpHeaderUtil.createHeadersWithCookie();
-    HttpEntity<String> entity = new HttpEntity<>(headers);
+        try {
+            return deleteEmployee(id, true);
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+    }
 
+    /**
+     * Deletes an employee by ID, optionally leaving the snapshot untouched so a batch can remove all of its
+     * employees at once with {@link EmployeeSnapshotCache#removeAll}.
+     *
+     * @return the name of the deleted employee, or null if an error occurs
+     * @throws ResourceNotFoundException if there is no employee with the given ID
+     */
+    String deleteEmployee(String id, boolean updateCache) {
     try {
-        // Fetch the employee by ID
+        // Look the employee up by ID, the snapshot or the database usually knows its name
         Employee employee = getEmployeeById(id);
         if (employee == null) {
             log.error("Employee with ID {} not found", id);
-            return null;
+            throw new ResourceNotFoundException("Employee with ID " + id + " not found");
         }
 
         // Delete the employee
-        ResponseEntity<String> response = restTemplate.exchange(requestUrl, HttpMethod.DELETE, entity, String.class);
+        ResponseEntity<String> response = employeeApiClient.deleteEmployee(id);
         if (response.getStatusCode() == HttpStatus.OK) {
+            if (updateCache) {
+                snapshotCache.remove(id);
+            }
             return employee.getName();
         } else {
             log.error("Failed to delete employee, status code: {}", response.getStatusCode());
             return null;
         }
-    } catch (Exception e) {
+    } catch (RestClientException e) {
         log.error("Error occurred while deleting employee: {}", e.getMessage());
         return null;
     }
 }
+
+
+    /**
+     * Reloads the snapshot from the external API in the background, regardless of its age. The cache hands what
+     * changed to the indexes and the write-behind queue, which keeps the database current for database reads.
+     *
+     * @return a future of the reloaded employees
+     */
+    public CompletableFuture<List<Employee>> syncEmployees() {
+        return snapshotCache.reload(this::fetchAllEmployees);
+    }
+
+    /**
+     * ETag of the current employee list, to be read before the list itself.
+     *
+     * @return a strong ETag, or null if the response should not be conditional
+     */
+    public String getEmployeesETag() {
+        return snapshotCache.getETag(syncInBackground ? null : this::fetchAllEmployees);
+    }
+
+    /**
+     * ETag of the salary aggregates, to be read before the aggregates themselves. Database reads are not
+     * versioned, so they are never conditional.
+     *
+     * @return a strong ETag, or null if the response should not be conditional
+     */
+    public String getAggregatesETag() {
+        return readFromDatabase ? null : getEmployeesETag();
+    }
+
+    public boolean isReadingFromDatabase() {
+        return readFromDatabase;
+    }
+
+    public boolean isSyncingInBackground() {
+        return syncInBackground;
+    }
+
+
+    private List<Employee> searchEmployeesByName(String name, int offset, int limit) {
+        try {
+            if (readFromDatabase) {
+                return employeeRepository.searchByName(escapeLike(name), offset, limit);
+            }
+            return searchByName(getAllEmployees(), name, offset, limit);
+        } catch (DataAccessException e) {
+            log.error("Error while searching employees by name", e);
+            return Collections.emptyList();
+        }
+    }
+
+    // Compact snapshots answer from their columns, since the indexes are disabled with them
+    private Long highestSalary(List<Employee> employees) {
+        return employees instanceof CompactEmployeeList
+                ? ((CompactEmployeeList) employees).getHighestSalary()
+                : salaryIndex.getHighestSalary();
+    }
+
+    private List<String> topEarningNames(List<Employee> employees, int k) {
+        return employees instanceof CompactEmployeeList
+                ? ((CompactEmployeeList) employees).getTopEarningNames(k)
+                : salaryIndex.getTopEarningNames(k);
+    }
+
+    // Walks the salary index a page at a time and keeps each name the first time it appears, so only the rows
+    // down to the k-th distinct name are read instead of grouping the whole table
+    private List<String> topEarningNamesFromDatabase(int k) {
+        int pageSize = (int) Math.min(TOP_EARNERS_MAX_PAGE, Math.max(TOP_EARNERS_MIN_PAGE, 2L * k));
+        Set<String> names = new LinkedHashSet<>();
+        for (int page = 0; names.size() < k; page++) {
+            List<String> rows = employeeRepository.findNamesBySalaryDesc(PageRequest.of(page, pageSize));
+            for (String name : rows) {
+                if (names.add(name) && names.size() == k) {
+                    break;
+                }
+            }
+            if (rows.size() < pageSize) {
+                break;
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private List<Employee> searchByName(List<Employee> employees, String name, int offset, int limit) {
+        return employees instanceof CompactEmployeeList
+                ? ((CompactEmployeeList) employees).searchByName(name, offset, limit)
+                : nameSearchIndex.search(name, offset, limit);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Fetches all employees from the external API. Invoked by the snapshot cache whenever a refresh is due;
+     * the cache passes what changed on to the repository and the indexes.
+     * <p>
+     * While the upstream circuit is open the cache keeps serving its last snapshot. If it has none yet, e.g.
+     * right after a restart, the last persisted employees are loaded from the database instead.
+     */
+    private List<Employee> fetchAllEmployees() {
+        try {
+            return employeeApiClient.fetchAllEmployees();
+        } catch (UpstreamUnavailableException e) {
+            if (snapshotCache.hasSnapshot()) {
+                throw e;
+            }
+            List<Employee> persisted = employeeRepository.findAll();
+            if (persisted.isEmpty()) {
+                throw e;
+            }
+            log.warn("External API unavailable, serving {} persisted employees", persisted.size());
+            return persisted;
+        }
+    }
 }
\ No newline at end of file
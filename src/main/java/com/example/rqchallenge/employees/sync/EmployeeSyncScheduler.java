@@ -0,0 +1,123 @@
+package com.example.rqchallenge.employees.sync;
+
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pulls the full employee list from the upstream API on its own schedule, active when
+ * {@code employee.service.sync.enabled=true} or {@code employee.service.read-source=database}.
+ * <p>
+ * Each sync goes through the snapshot cache, which swaps in the new snapshot atomically and passes the changes on
+ * to the indexes and the write-behind queue, while reads are served from the last synced snapshot. The upstream
+ * call rate is therefore one request per interval, independent of our traffic. After a failure the delay doubles
+ * up to {@code max-backoff}; a 429 waits at least as long as its {@code Retry-After} header asks.
+ */
+@Component
+public class EmployeeSyncScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSyncScheduler.class);
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final EmployeeService employeeService;
+    private final long intervalNanos;
+    private final long maxBackoffNanos;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final AtomicLong lastSuccessNanos = new AtomicLong();
+    private final AtomicLong lastDurationNanos = new AtomicLong();
+    private volatile int consecutiveFailures;
+    private volatile long nextDelayNanos;
+
+    public EmployeeSyncScheduler(EmployeeService employeeService,
+                                 @Value("${employee.service.sync.interval:30s}") Duration interval,
+                                 @Value("${employee.service.sync.max-backoff:10m}") Duration maxBackoff) {
+        this.employeeService = employeeService;
+        this.intervalNanos = interval.toNanos();
+        this.maxBackoffNanos = Math.max(intervalNanos, maxBackoff.toNanos());
+        this.nextDelayNanos = intervalNanos;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (employeeService.isSyncingInBackground()) {
+            scheduler.execute(this::sync);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public SyncStats getStats() {
+        long lastSuccess = lastSuccessNanos.get();
+        return new SyncStats(lastSuccess != 0 ? Duration.ofNanos(System.nanoTime() - lastSuccess) : null,
+                Duration.ofNanos(lastDurationNanos.get()), successes.sum(), failures.sum(), rateLimited.sum(),
+                consecutiveFailures, Duration.ofNanos(nextDelayNanos));
+    }
+
+
+    private void sync() {
+        long start = System.nanoTime();
+        try {
+            int synced = employeeService.syncEmployees().join().size();
+            long end = System.nanoTime();
+            lastDurationNanos.set(end - start);
+            lastSuccessNanos.set(end);
+            successes.increment();
+            consecutiveFailures = 0;
+            nextDelayNanos = intervalNanos;
+            log.debug("Synced {} employees from the external API in {} ms", synced, Duration.ofNanos(end - start).toMillis());
+        } catch (Exception e) {
+            lastDurationNanos.set(System.nanoTime() - start);
+            nextDelayNanos = backoffAfter(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        } finally {
+            if (!scheduler.isShutdown()) {
+                scheduler.schedule(this::sync, nextDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    long backoffAfter(Throwable failure) {
+        failures.increment();
+        int failuresInRow = ++consecutiveFailures;
+        long delay = doubledInterval(Math.min(failuresInRow, MAX_BACKOFF_SHIFT));
+
+        if (failure instanceof TooManyRequestsException) {
+            rateLimited.increment();
+            long retryAfter = ((TooManyRequestsException) failure).getRetryAfter().map(Duration::toNanos).orElse(0L);
+            delay = Math.max(delay, retryAfter);
+            log.warn("External API rate limited the employee sync, retrying in {} s", TimeUnit.NANOSECONDS.toSeconds(delay));
+        } else {
+            log.error("Error while syncing employees from External API, retrying in {} s: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(delay), failure.getMessage());
+        }
+        return delay;
+    }
+
+    // The interval doubled shift times, saturating at max-backoff instead of overflowing for long intervals
+    private long doubledInterval(int shift) {
+        return intervalNanos > (maxBackoffNanos >> shift) ? maxBackoffNanos : intervalNanos << shift;
+    }
+}
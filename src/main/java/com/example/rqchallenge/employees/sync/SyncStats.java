@@ -0,0 +1,65 @@
+package com.example.rqchallenge.employees.sync;
+
+import java.time.Duration;
+
+/**
+ * Counters describing the background upstream sync.
+ */
+public final class SyncStats {
+
+    private final Duration lastSyncAge;
+    private final Duration lastSyncDuration;
+    private final long successes;
+    private final long failures;
+    private final long rateLimited;
+    private final int consecutiveFailures;
+    private final Duration nextDelay;
+
+    public SyncStats(Duration lastSyncAge, Duration lastSyncDuration, long successes, long failures, long rateLimited,
+                     int consecutiveFailures, Duration nextDelay) {
+        this.lastSyncAge = lastSyncAge;
+        this.lastSyncDuration = lastSyncDuration;
+        this.successes = successes;
+        this.failures = failures;
+        this.rateLimited = rateLimited;
+        this.consecutiveFailures = consecutiveFailures;
+        this.nextDelay = nextDelay;
+    }
+
+    /**
+     * Time since the last successful sync, or null if none has succeeded yet.
+     */
+    public Duration getLastSyncAge() {
+        return lastSyncAge;
+    }
+
+    public Duration getLastSyncDuration() {
+        return lastSyncDuration;
+    }
+
+    public long getSuccesses() {
+        return successes;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public Duration getNextDelay() {
+        return nextDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "lastSyncAge=" + lastSyncAge + ", lastSyncDuration=" + lastSyncDuration + ", successes=" + successes
+                + ", failures=" + failures + ", rateLimited=" + rateLimited + ", nextDelay=" + nextDelay;
+    }
+}
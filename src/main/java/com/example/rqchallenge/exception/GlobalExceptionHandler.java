@@ -1,7 +1,7 @@
 package com.example.rqchallenge.exception;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.example.rqchallenge.util.RateLimitedLogger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -11,7 +11,7 @@ import org.springframework.web.context.request.WebRequest;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
-    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final RateLimitedLogger log = RateLimitedLogger.getLogger(GlobalExceptionHandler.class);
 
 
     /**
@@ -24,20 +24,23 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Handles TooManyRequestsException.
+     * Handles the expected failures of the external API with the status of each type, without a stack trace.
      */
-    @ExceptionHandler(TooManyRequestsException.class)
-    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
-        log.error("Too many requests at {}: {}", request.getDescription(false), ex.getMessage());
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
+    @ExceptionHandler(UpstreamException.class)
+    public ResponseEntity<String> handleUpstreamException(UpstreamException ex, WebRequest request) {
+        log.warn("Upstream failure at {}: {}", request.getDescription(false), ex.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus());
+        ex.getRetryAfter().ifPresent(retryAfter -> response.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.getSeconds())));
+        return response.body(ex.getMessage());
     }
 
     /**
-     * Handles all other exceptions.
+     * Handles all other exceptions with an empty 500, as the controllers always answered them, so internal
+     * messages such as SQL or Hibernate errors never reach clients. The stack trace is logged instead.
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleException(Exception ex, WebRequest request) {
-        log.error("Error occurred at {}: {}", request.getDescription(false), ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+        log.error("Error occurred at {}", request.getDescription(false), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
 }
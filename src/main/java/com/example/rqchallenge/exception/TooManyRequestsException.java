@@ -1,11 +1,36 @@
 package com.example.rqchallenge.exception;
 
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * Exception thrown when too many requests are made to the API.
  */
-public class TooManyRequestsException extends RuntimeException {
+public class TooManyRequestsException extends UpstreamException {
+
+    private final Duration retryAfter;
 
     public TooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * How long the API asked us to wait before the next request, if it sent a {@code Retry-After} header.
+     */
+    @Override
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
     }
 }
@@ -0,0 +1,29 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the external API answers with a server error, cannot be reached, or sends a response
+ * that cannot be read.
+ */
+public class UpstreamErrorException extends UpstreamException {
+
+    private final int upstreamStatus;
+
+    public UpstreamErrorException(String message, int upstreamStatus, Throwable cause) {
+        super(message, cause);
+        this.upstreamStatus = upstreamStatus;
+    }
+
+    /**
+     * The status the external API answered with, or 0 if there was no response.
+     */
+    public int getUpstreamStatus() {
+        return upstreamStatus;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_GATEWAY;
+    }
+}
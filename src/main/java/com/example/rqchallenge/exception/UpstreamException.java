@@ -0,0 +1,34 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Base of the expected failures of the external API: rate limits, an open circuit, timeouts and server errors.
+ * During an upstream outage these are thrown on every request, so they are created without a stack trace and
+ * without suppressed exceptions; the message says all there is to say.
+ */
+public abstract class UpstreamException extends RuntimeException {
+
+    protected UpstreamException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected UpstreamException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+
+    /**
+     * The status our own clients are answered with.
+     */
+    public abstract HttpStatus getStatus();
+
+    /**
+     * How long clients should wait before retrying, if known.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.empty();
+    }
+}
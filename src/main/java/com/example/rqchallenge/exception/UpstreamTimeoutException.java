@@ -0,0 +1,19 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the external API does not connect or answer in time, or no pooled connection to it
+ * becomes free in time.
+ */
+public class UpstreamTimeoutException extends UpstreamException {
+
+    public UpstreamTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.GATEWAY_TIMEOUT;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the external API is not called because its circuit breaker is open.
+ */
+public class UpstreamUnavailableException extends UpstreamException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
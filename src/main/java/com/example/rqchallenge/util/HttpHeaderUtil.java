@@ -2,6 +2,11 @@ package com.example.rqchallenge.util;
 
 import org.springframework.http.HttpHeaders;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 /**
  * Utility class for creating HTTP headers.
  */
@@ -21,4 +26,27 @@ public class HttpHeaderUtil {
         return headers;
     }
 
+    /**
+     * Parses a {@code Retry-After} header, given either as delay seconds or as an HTTP date.
+     *
+     * @param value the header value, may be null
+     * @return the delay to wait, or null if the header is missing or malformed
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration delay = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
 }
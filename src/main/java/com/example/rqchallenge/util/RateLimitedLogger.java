@@ -0,0 +1,161 @@
+package com.example.rqchallenge.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Error and warning logger for request paths, which must not flood the log when every request fails the same
+ * way, e.g. during an upstream outage.
+ * <p>
+ * The first {@code burst} messages of each window are logged; after that only every {@code sampleRate}-th one is,
+ * and the next logged message says how many were suppressed in between. The budget is kept per format string,
+ * i.e. per call site, so one noisy message does not hide unrelated ones. Suppressed messages are counted in
+ * {@code employee.log.suppressed}, tagged with the logger name, on the global Micrometer registry, which Spring
+ * Boot publishes with its own.
+ */
+public final class RateLimitedLogger {
+
+    private static final int DEFAULT_BURST = 10;
+    private static final long DEFAULT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int DEFAULT_SAMPLE_RATE = 100;
+    private static final int MAX_BUDGETS = 256;
+
+    private final Logger log;
+    private final int burst;
+    private final long windowNanos;
+    private final int sampleRate;
+    private final LongSupplier nanoClock;
+    private final Counter suppressedCounter;
+    private final LongAdder suppressedCount = new LongAdder();
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final Budget sharedBudget;
+
+    RateLimitedLogger(Logger log, int burst, long windowNanos, int sampleRate, LongSupplier nanoClock) {
+        this.log = log;
+        this.burst = burst;
+        this.windowNanos = windowNanos;
+        this.sampleRate = sampleRate;
+        this.nanoClock = nanoClock;
+        this.sharedBudget = new Budget(nanoClock.getAsLong());
+        this.suppressedCounter = Metrics.counter("employee.log.suppressed", "logger", log.getName());
+    }
+
+    /**
+     * Returns a rate-limited logger named after the given class, logging up to 10 messages per format and
+     * 10 seconds and every 100th message beyond that.
+     */
+    public static RateLimitedLogger getLogger(Class<?> owner) {
+        return new RateLimitedLogger(LoggerFactory.getLogger(owner), DEFAULT_BURST, DEFAULT_WINDOW_NANOS,
+                DEFAULT_SAMPLE_RATE, System::nanoTime);
+    }
+
+
+    /**
+     * Logs at error level unless rate limited. As with SLF4J, a trailing {@link Throwable} argument is logged
+     * with its stack trace, so only pass one for failures that are not expected.
+     */
+    public void error(String format, Object... args) {
+        if (log.isErrorEnabled()) {
+            long suppressed = acquire(format);
+            if (suppressed >= 0) {
+                log.error(withSuppressed(format, suppressed), withSuppressed(args, suppressed));
+            }
+        }
+    }
+
+    /**
+     * Logs at warn level unless rate limited.
+     */
+    public void warn(String format, Object... args) {
+        if (log.isWarnEnabled()) {
+            long suppressed = acquire(format);
+            if (suppressed >= 0) {
+                log.warn(withSuppressed(format, suppressed), withSuppressed(args, suppressed));
+            }
+        }
+    }
+
+    /**
+     * Messages suppressed so far.
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.sum();
+    }
+
+
+    /**
+     * Returns the number of messages with this format suppressed since the last logged one if this one may be
+     * logged, or -1 if it is suppressed.
+     */
+    private long acquire(String format) {
+        Budget budget = budgetFor(format);
+        synchronized (budget) {
+            long now = nanoClock.getAsLong();
+            if (now - budget.windowStartNanos >= windowNanos) {
+                budget.windowStartNanos = now;
+                budget.loggedInWindow = 0;
+                budget.overflowInWindow = 0;
+            }
+            if (budget.loggedInWindow < burst || ++budget.overflowInWindow % sampleRate == 0) {
+                budget.loggedInWindow++;
+                long suppressed = budget.suppressedSinceLastLog;
+                budget.suppressedSinceLastLog = 0;
+                return suppressed;
+            }
+            budget.suppressedSinceLastLog++;
+        }
+        suppressedCount.increment();
+        suppressedCounter.increment();
+        return -1;
+    }
+
+    // Formats are call-site constants; should one be built per message, those share a budget past the cap
+    private Budget budgetFor(String format) {
+        Budget budget = budgets.get(format);
+        if (budget != null) {
+            return budget;
+        }
+        if (budgets.size() >= MAX_BUDGETS) {
+            return sharedBudget;
+        }
+        return budgets.computeIfAbsent(format, key -> new Budget(nanoClock.getAsLong()));
+    }
+
+    private static String withSuppressed(String format, long suppressed) {
+        return suppressed > 0 ? format + " ({} similar messages suppressed)" : format;
+    }
+
+    // The count goes before a trailing throwable, which SLF4J only treats as such in last position
+    private static Object[] withSuppressed(Object[] args, long suppressed) {
+        if (suppressed == 0) {
+            return args;
+        }
+        Object[] extended = Arrays.copyOf(args, args.length + 1);
+        int position = args.length > 0 && args[args.length - 1] instanceof Throwable ? args.length - 1 : args.length;
+        System.arraycopy(args, position, extended, position + 1, args.length - position);
+        extended[position] = suppressed;
+        return extended;
+    }
+
+
+    private static final class Budget {
+        // Guarded by this
+        private long windowStartNanos;
+        private int loggedInWindow;
+        private long overflowInWindow;
+        private long suppressedSinceLastLog;
+
+        private Budget(long windowStartNanos) {
+            this.windowStartNanos = windowStartNanos;
+        }
+    }
+}
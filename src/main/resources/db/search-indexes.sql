@@ -0,0 +1,6 @@
+-- Run by Spring at every start, after Hibernate updates the schema. Substring name search (ILIKE '%term%') needs a
+-- trigram index. CREATE EXTENSION needs the CREATE privilege on the database (superuser before PostgreSQL 13).
+-- Without it both statements fail, Spring only logs them and NameSearchIndexCheck warns at startup; a DBA can create
+-- the extension once and the index is created on the next start.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_employee_name_trgm ON employee USING gin (name gin_trgm_ops);
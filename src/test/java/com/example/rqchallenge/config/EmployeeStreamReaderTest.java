@@ -0,0 +1,55 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeStreamReaderTest {
+
+    private static final String LIST_RESPONSE = "{\"status\":\"success\",\"data\":["
+            + "{\"id\":1,\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800,\"employee_age\":61,\"profile_image\":\"\"},"
+            + "{\"id\":\"2\",\"employee_name\":\"Garrett Winters\",\"employee_salary\":\"170750\",\"employee_age\":\"63\",\"extra\":{\"a\":[1]}}"
+            + "],\"message\":\"Successfully! All records has been fetched.\"}";
+
+    private static final String SINGLE_RESPONSE = "{\"status\":\"success\",\"data\":"
+            + "{\"id\":1,\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800,\"employee_age\":61,\"profile_image\":\"\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deserializesEmployeeArray() throws Exception {
+        EmployeeResponse response = objectMapper.readValue(LIST_RESPONSE, EmployeeResponse.class);
+
+        assertThat(response.getData()).extracting(Employee::getId).containsExactly("1", "2");
+        assertThat(response.getData().get(1).getSalary()).isEqualTo(170750);
+        assertThat(response.getData().get(1).getAge()).isEqualTo(63);
+        assertThat(response.getData().get(1).getProfileImage()).isEmpty();
+    }
+
+    @Test
+    void deserializesSingleEmployee() throws Exception {
+        EmployeeResponse response = objectMapper.readValue(SINGLE_RESPONSE, EmployeeResponse.class);
+
+        assertThat(response.getData()).singleElement().extracting(Employee::getName).isEqualTo("Tiger Nixon");
+    }
+
+    @Test
+    void streamsResponseToConsumer() throws Exception {
+        List<String> names = new ArrayList<>();
+
+        int count = EmployeeStreamReader.readResponse(
+                new ByteArrayInputStream(LIST_RESPONSE.getBytes(StandardCharsets.UTF_8)),
+                objectMapper.getFactory(), employee -> names.add(employee.getName()));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(names).containsExactly("Tiger Nixon", "Garrett Winters");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.index.NameSearchIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import com.example.rqchallenge.employees.service.EmployeeLookupService;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncEmployeeControllerTest {
+
+    private static final int SEARCH_MAX_RESULTS = 3;
+
+    private final EmployeeSnapshotCache snapshotCache = mock(EmployeeSnapshotCache.class);
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex(false);
+    private final EmployeeService employeeService = new EmployeeService(mock(EmployeeApiClient.class),
+            mock(EmployeeRepository.class), new ObjectMapper(), snapshotCache, new SalaryIndex(false), nameSearchIndex,
+            mock(EmployeeLookupService.class), SEARCH_MAX_RESULTS, "memory", false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final EmployeeController blocking = new EmployeeController(employeeService);
+    private final AsyncEmployeeController async = new AsyncEmployeeController(employeeService, executor);
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 2 * SEARCH_MAX_RESULTS; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, 1000L * i, 20 + i, ""));
+        }
+        nameSearchIndex.onSnapshot(employees);
+        when(snapshotCache.get(any())).thenReturn(employees);
+        when(snapshotCache.getAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(employees));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void searchWithoutLimitReturnsEveryMatchLikeTheBlockingController() {
+        ResponseEntity<List<Employee>> expected = blocking.getEmployeesByNameSearch("employee");
+        ResponseEntity<List<Employee>> actual = async.getEmployeesByNameSearch("employee").join();
+
+        assertThat(expected.getBody()).hasSize(2 * SEARCH_MAX_RESULTS);
+        assertThat(actual.getBody()).isEqualTo(expected.getBody());
+    }
+
+    @Test
+    void searchWithLimitIsCappedLikeTheBlockingController() {
+        ResponseEntity<List<Employee>> expected = blocking.getEmployeesByNameSearch("employee", 1, 100);
+        ResponseEntity<List<Employee>> actual = async.getEmployeesByNameSearch("employee", 1, 100).join();
+
+        assertThat(expected.getBody()).hasSize(SEARCH_MAX_RESULTS);
+        assertThat(actual.getBody()).isEqualTo(expected.getBody());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.AgeBand;
+import com.example.rqchallenge.employees.model.SalaryStatistics;
+import com.example.rqchallenge.employees.service.EmployeeAnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeAnalyticsControllerTest {
+
+    private static final String ETAG = "\"k1-7\"";
+
+    private final EmployeeAnalyticsService analyticsService = mock(EmployeeAnalyticsService.class);
+    private final EmployeeAnalyticsController controller = new EmployeeAnalyticsController(analyticsService);
+
+    @BeforeEach
+    void setUp() {
+        when(analyticsService.getETag()).thenReturn(ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("If-None-Match", ETAG);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void rejectsInvalidParametersEvenWhenTheClientCopyIsCurrent() {
+        ResponseEntity<SalaryStatistics> salary = controller.getSalaryStatistics(0);
+        ResponseEntity<List<AgeBand>> ageBands = controller.getAgeBands(-1);
+
+        assertThat(salary.getStatusCodeValue()).isEqualTo(400);
+        assertThat(ageBands.getStatusCodeValue()).isEqualTo(400);
+    }
+
+    @Test
+    void answersValidRequestsForTheCurrentCopyWithNotModified() {
+        assertThat(controller.getSalaryStatistics(10).getStatusCodeValue()).isEqualTo(304);
+        assertThat(controller.getAgeBands(10).getStatusCodeValue()).isEqualTo(304);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.model.BulkItemResult;
+import com.example.rqchallenge.employees.model.BulkResponse;
+import com.example.rqchallenge.employees.service.EmployeeBulkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeBulkControllerTest {
+
+    private final EmployeeBulkService bulkService = mock(EmployeeBulkService.class);
+    private final EmployeeBulkController controller = new EmployeeBulkController(bulkService);
+
+    @Test
+    void answersOkWhenEveryItemSucceeded() {
+        when(bulkService.deleteEmployees(any())).thenReturn(List.of(
+                BulkItemResult.deleted(0, "1", "Tiger Nixon"), BulkItemResult.deleted(1, "2", "Garrett Winters")));
+
+        ResponseEntity<BulkResponse> response = controller.deleteEmployees(List.of("1", "2"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getSucceeded()).isEqualTo(2);
+        assertThat(response.getBody().getFailed()).isZero();
+    }
+
+    @Test
+    void answersMultiStatusWhenAnItemFailed() {
+        when(bulkService.deleteEmployees(any())).thenReturn(List.of(
+                BulkItemResult.deleted(0, "1", "Tiger Nixon"), BulkItemResult.failed(1, 429, "2", "Rate limited")));
+
+        ResponseEntity<BulkResponse> response = controller.deleteEmployees(List.of("1", "2"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.MULTI_STATUS);
+        assertThat(response.getBody().getFailed()).isEqualTo(1);
+        assertThat(response.getBody().getResults()).extracting(BulkItemResult::getStatus).containsExactly(200, 429);
+    }
+
+    @Test
+    void answersBadRequestForAnOversizedBatch() {
+        when(bulkService.deleteEmployees(any())).thenThrow(new IllegalArgumentException("Batch of 2 exceeds the maximum of 1"));
+
+        assertThat(controller.deleteEmployees(List.of("1", "2")).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
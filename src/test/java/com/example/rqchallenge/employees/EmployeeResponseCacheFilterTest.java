@@ -0,0 +1,253 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeResponseCacheFilterTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee/employees";
+    private static final String SEARCH = "/api/v1/employee/search";
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final AtomicInteger handled = new AtomicInteger();
+    private final EmployeeResponseCacheFilter filter = new EmployeeResponseCacheFilter(employeeService, true, 2, 1024, 4096);
+
+    // Stands in for the controller: echoes the URL and the snapshot ETag it was served under
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String etag = employeeService.getEmployeesETag();
+        httpResponse.setContentType("application/json");
+        httpResponse.setHeader(HttpHeaders.ETAG, etag);
+        httpResponse.getOutputStream().write(body(url((HttpServletRequest) request), etag).getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        version(1);
+    }
+
+    @Test
+    void servesRepeatedReadsFromCachedBytes() throws Exception {
+        MockHttpServletResponse first = get(EMPLOYEES);
+        MockHttpServletResponse second = get(EMPLOYEES);
+
+        assertThat(handled).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(body(EMPLOYEES, etag(1)));
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag(1));
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(filter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keysEntriesByPathAndQuery() throws Exception {
+        get(SEARCH + "?searchString=a");
+        MockHttpServletResponse other = get(SEARCH + "?searchString=b");
+
+        assertThat(handled).hasValue(2);
+        assertThat(other.getContentAsString()).isEqualTo(body(SEARCH + "?searchString=b", etag(1)));
+    }
+
+    @Test
+    void dropsEntriesWhenTheSnapshotVersionChanges() throws Exception {
+        get(EMPLOYEES);
+        version(2);
+
+        MockHttpServletResponse response = get(EMPLOYEES);
+
+        assertThat(handled).hasValue(2);
+        assertThat(response.getContentAsString()).isEqualTo(body(EMPLOYEES, etag(2)));
+        assertThat(get(EMPLOYEES).getContentAsString()).isEqualTo(body(EMPLOYEES, etag(2)));
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    void requestsWithAnOlderETagBypassTheCache() throws Exception {
+        version(2);
+        get(EMPLOYEES);
+
+        version(1);
+        MockHttpServletResponse stale = get(EMPLOYEES);
+        assertThat(stale.getContentAsString()).isEqualTo(body(EMPLOYEES, etag(1)));
+        assertThat(handled).hasValue(2);
+
+        version(2);
+        assertThat(get(EMPLOYEES).getContentAsString()).isEqualTo(body(EMPLOYEES, etag(2)));
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    void keysEntriesOnlyByTheParametersTheEndpointReads() throws Exception {
+        get(SEARCH + "?searchString=a&limit=10&offset=0");
+        get(SEARCH + "?offset=00&searchString=a&limit=10");
+        get("/api/v1/employee/topHighestEarning?k=5");
+        get("/api/v1/employee/topHighestEarning?k=+5");
+
+        assertThat(handled).hasValue(2);
+        assertThat(EmployeeResponseCacheFilter.cacheKey("/search", Map.of("searchString", new String[]{"a b&c"})))
+                .isEqualTo("/search?searchString=a+b%26c");
+        assertThat(EmployeeResponseCacheFilter.cacheKey("/search", Map.of("searchString", new String[]{"a"},
+                "offset", new String[]{"3"}))).isEqualTo("/search?searchString=a");
+    }
+
+    @Test
+    void passesRequestsWithOtherParametersThroughUncached() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            get(EMPLOYEES + "?_=" + i);
+        }
+        get(SEARCH + "?searchString=a&searchString=b");
+        get("/api/v1/employee/topHighestEarning?k=many");
+
+        assertThat(handled).hasValue(5);
+        assertThat(filter.size()).isZero();
+    }
+
+    @Test
+    void evictsPastTheByteBudgetCountingGzipCopies() throws Exception {
+        EmployeeResponseCacheFilter small = new EmployeeResponseCacheFilter(employeeService, true, 100, 1024, 200);
+        for (String term : new String[]{"a", "b"}) {
+            small.doFilter(request(SEARCH + "?searchString=" + term), new MockHttpServletResponse(), chain);
+        }
+        long plainBytes = small.sizeInBytes();
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(plainBytes).isLessThanOrEqualTo(200L);
+
+        MockHttpServletRequest gzipRequest = request(SEARCH + "?searchString=b");
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        small.doFilter(gzipRequest, new MockHttpServletResponse(), chain);
+
+        assertThat(small.size()).isEqualTo(1);
+        assertThat(small.sizeInBytes()).isGreaterThan(plainBytes / 2).isLessThanOrEqualTo(200L);
+        small.doFilter(request(SEARCH + "?searchString=b"), new MockHttpServletResponse(), chain);
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedUrl() throws Exception {
+        get(SEARCH + "?searchString=a");
+        get(SEARCH + "?searchString=b");
+        get(SEARCH + "?searchString=a");
+        get(SEARCH + "?searchString=c");
+        assertThat(handled).hasValue(3);
+        assertThat(filter.size()).isEqualTo(2);
+
+        get(SEARCH + "?searchString=a");
+        assertThat(handled).hasValue(3);
+        get(SEARCH + "?searchString=b");
+        assertThat(handled).hasValue(4);
+    }
+
+    @Test
+    void gzipsCachedBodiesForClientsThatAcceptIt() throws Exception {
+        get(EMPLOYEES);
+
+        MockHttpServletResponse gzipped = get(EMPLOYEES, HttpHeaders.ACCEPT_ENCODING, "deflate, gzip");
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(body(EMPLOYEES, etag(1)));
+        assertThat(gzipped.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+
+        MockHttpServletResponse refused = get(EMPLOYEES, HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        assertThat(refused.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(refused.getContentAsString()).isEqualTo(body(EMPLOYEES, etag(1)));
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    void negotiatesGzipByQuality() {
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip("gzip")).isTrue();
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip("gzip; q=0.000")).isFalse();
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip("deflate, br")).isFalse();
+        assertThat(EmployeeResponseCacheFilter.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void answersNotModifiedForAMatchingIfNoneMatch() throws Exception {
+        get(EMPLOYEES);
+
+        MockHttpServletResponse response = get(EMPLOYEES, HttpHeaders.IF_NONE_MATCH, etag(1));
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    void passesStreamingAndUnversionedReadsThrough() throws Exception {
+        get(EMPLOYEES, HttpHeaders.ACCEPT, "application/x-ndjson");
+        when(employeeService.getAggregatesETag()).thenReturn(null);
+        get("/api/v1/employee/highestSalary");
+        get("/api/v1/employee/highestSalary");
+
+        assertThat(handled).hasValue(3);
+        assertThat(filter.size()).isZero();
+    }
+
+
+    private void version(long version) {
+        when(employeeService.getEmployeesETag()).thenReturn(etag(version));
+        when(employeeService.getAggregatesETag()).thenReturn(etag(version));
+    }
+
+    private MockHttpServletResponse get(String url, String... headers) throws ServletException, IOException {
+        MockHttpServletRequest request = request(url);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String url) {
+        int query = url.indexOf('?');
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", query < 0 ? url : url.substring(0, query));
+        if (query >= 0) {
+            request.setQueryString(url.substring(query + 1));
+            for (String parameter : url.substring(query + 1).split("&")) {
+                String[] pair = parameter.split("=", 2);
+                request.addParameter(pair[0], pair.length > 1 ? pair[1] : "");
+            }
+        }
+        return request;
+    }
+
+    private static String url(HttpServletRequest request) {
+        return request.getQueryString() != null ? request.getRequestURI() + "?" + request.getQueryString() : request.getRequestURI();
+    }
+
+    private static String etag(long version) {
+        return "\"test-" + version + "\"";
+    }
+
+    private static String body(String url, String etag) {
+        return "{\"url\":\"" + url + "\",\"etag\":" + etag + "}";
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
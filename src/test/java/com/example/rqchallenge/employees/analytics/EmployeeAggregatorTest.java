@@ -0,0 +1,66 @@
+package com.example.rqchallenge.employees.analytics;
+
+import com.example.rqchallenge.employees.model.AgeBand;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.SalaryStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EmployeeAggregatorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final EmployeeAggregator aggregator = new EmployeeAggregator(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void mergesSalaryStatisticsAcrossLeaves() {
+        // Salaries 1..n, so every statistic has a closed form
+        int n = EmployeeAggregator.LEAF_SIZE * 5 + 3;
+        List<Employee> employees = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            employees.add(new Employee(Integer.toString(i), "Employee " + i, i, 20 + i % 40, ""));
+        }
+
+        SalaryStatistics statistics = aggregator.salaryStatistics(employees, 4);
+
+        assertThat(statistics.getCount()).isEqualTo(n);
+        assertThat(statistics.getSum()).isEqualTo((long) n * (n + 1) / 2);
+        assertThat(statistics.getMean()).isCloseTo((n + 1) / 2d, within(1e-6));
+        assertThat(statistics.getStandardDeviation()).isCloseTo(Math.sqrt(((double) n * n - 1) / 12), within(1e-6));
+        assertThat(statistics.getMin()).isEqualTo(1);
+        assertThat(statistics.getMax()).isEqualTo(n);
+        assertThat(statistics.getPercentiles().get("p50")).isEqualTo((long) Math.ceil(n / 2d));
+        assertThat(statistics.getHistogram()).hasSize(4);
+        assertThat(statistics.getHistogram().stream().mapToLong(SalaryStatistics.Bucket::getCount).sum()).isEqualTo(n);
+    }
+
+    @Test
+    void groupsByAgeBand() {
+        List<AgeBand> bands = aggregator.ageBands(List.of(
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, ""),
+                new Employee("3", "Cedric Kelly", 433060, 22, "")), 10);
+
+        assertThat(bands).extracting(AgeBand::getFrom).containsExactly(20, 60);
+        assertThat(bands.get(1).getCount()).isEqualTo(2);
+        assertThat(bands.get(1).getMaxSalary()).isEqualTo(320800);
+        assertThat(bands.get(1).getAverageSalary()).isEqualTo(245775);
+    }
+
+    @Test
+    void handlesEmptySnapshot() {
+        assertThat(aggregator.salaryStatistics(List.of(), 10).getCount()).isZero();
+        assertThat(aggregator.ageBands(List.of(), 10)).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactEmployeeListTest {
+
+    private final CompactEmployeeList employees = CompactEmployeeList.of(List.of(
+            new Employee("1", "Tiger Nixon", 320800, 61, ""),
+            new Employee("2", "Garrett Winters", 170750, 63, ""),
+            new Employee("3", "Ashton Cox", 86000, 66, ""),
+            new Employee("4", "Tiger Nixon", 120000, 40, "tiger.png"),
+            new Employee("5", "Cedric Kelly", 433060, 22, "")));
+
+    @Test
+    void materializesEmployeesFromColumns() {
+        Employee employee = employees.get(3);
+
+        assertThat(employee.getId()).isEqualTo("4");
+        assertThat(employee.getName()).isEqualTo("Tiger Nixon");
+        assertThat(employee.getSalary()).isEqualTo(120000);
+        assertThat(employee.getAge()).isEqualTo(40);
+        assertThat(employee.getProfileImage()).isEqualTo("tiger.png");
+        assertThat(employees.getDistinctNameCount()).isEqualTo(4);
+    }
+
+    @Test
+    void aggregatesOverSalaryColumn() {
+        assertThat(employees.getHighestSalary()).isEqualTo(433060);
+        assertThat(employees.getTopEarningNames(3)).containsExactly("Cedric Kelly", "Tiger Nixon", "Garrett Winters");
+        assertThat(CompactEmployeeList.of(List.of()).getHighestSalary()).isNull();
+    }
+
+    @Test
+    void searchesNamesAndIds() {
+        assertThat(employees.searchByName("NIX", 0, 10)).extracting(Employee::getId).containsExactly("1", "4");
+        assertThat(employees.searchByName("nix", 1, 10)).extracting(Employee::getId).containsExactly("4");
+        assertThat(employees.countByName("NIX")).isEqualTo(2);
+        assertThat(employees.countByName("zzz")).isZero();
+        assertThat(employees.findById("5").getName()).isEqualTo("Cedric Kelly");
+        assertThat(employees.findById("05")).isNull();
+        assertThat(employees.findById("9")).isNull();
+    }
+
+    @Test
+    void keepsNonNumericIds() {
+        CompactEmployeeList mixed = CompactEmployeeList.of(List.of(
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("emp-2", "Garrett Winters", 170750, 63, "")));
+
+        assertThat(mixed.findById("emp-2").getName()).isEqualTo("Garrett Winters");
+        assertThat(mixed.get(0).getId()).isEqualTo("1");
+    }
+
+    @Test
+    void replacesAndAppendsSavedRowsInACopy() {
+        Employee raised = new Employee("2", "Garrett Winters", 180000, 63, "");
+        assertThat(employees.findById("2")).isNotNull();
+
+        CompactEmployeeList saved = employees.withSaved(List.of(raised, new Employee("6", "Airi Satou", 162700, 33, "")));
+
+        assertThat(saved).extracting(Employee::getId).containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(saved.findById("2").getSalary()).isEqualTo(180000);
+        assertThat(saved.findById("6").getName()).isEqualTo("Airi Satou");
+        assertThat(saved.getFingerprint(1)).isEqualTo(EmployeeFingerprint.of(raised));
+        assertThat(saved.searchByName("airi", 0, 10)).extracting(Employee::getId).containsExactly("6");
+        assertThat(employees.findById("2").getSalary()).isEqualTo(170750);
+        assertThat(employees).hasSize(5);
+    }
+
+    @Test
+    void switchesToTextIdsWhenASavedIdIsNotNumeric() {
+        CompactEmployeeList saved = employees.withSaved(List.of(new Employee("emp-6", "Airi Satou", 162700, 33, "")));
+
+        assertThat(saved.findById("emp-6").getName()).isEqualTo("Airi Satou");
+        assertThat(saved.findById("1").getName()).isEqualTo("Tiger Nixon");
+        assertThat(saved.get(4).getId()).isEqualTo("5");
+    }
+
+    @Test
+    void removesRowsInACopy() {
+        CompactEmployeeList remaining = employees.without(List.of("1", "3", "9"));
+
+        assertThat(remaining).extracting(Employee::getId).containsExactly("2", "4", "5");
+        assertThat(remaining.findById("1")).isNull();
+        assertThat(remaining.findById("4").getName()).isEqualTo("Tiger Nixon");
+        assertThat(remaining.getFingerprint(0)).isEqualTo(employees.getFingerprint(1));
+        assertThat(remaining.getTopEarningNames(10)).containsExactly("Cedric Kelly", "Garrett Winters", "Tiger Nixon");
+        assertThat(employees.without(List.of("9"))).isSameAs(employees);
+    }
+
+    @Test
+    void removesEveryRowOfARepeatedId() {
+        CompactEmployeeList repeated = CompactEmployeeList.of(List.of(
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, "")));
+
+        assertThat(repeated.without(List.of("1"))).extracting(Employee::getId).containsExactly("2");
+    }
+}
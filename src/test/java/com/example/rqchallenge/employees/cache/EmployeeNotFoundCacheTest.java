@@ -0,0 +1,70 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeNotFoundCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final EmployeeNotFoundCache cache = new EmployeeNotFoundCache(Duration.ofSeconds(10), 3, clock::get);
+
+    @Test
+    void expiresAfterTtl() {
+        cache.markNotFound("1");
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.isNotFound("1")).isTrue();
+        assertThat(cache.isNotFound("2")).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.isNotFound("1")).isFalse();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void followsSnapshotChanges() {
+        cache.markNotFound("1");
+        cache.onEmployeeSaved(new Employee("1", "Tiger Nixon", 320800, 61, ""));
+        assertThat(cache.isNotFound("1")).isFalse();
+
+        cache.onEmployeeDeleted("2");
+        assertThat(cache.isNotFound("2")).isTrue();
+
+        cache.onSnapshot(List.of());
+        assertThat(cache.isNotFound("2")).isFalse();
+    }
+
+    @Test
+    void evictsExpiredEntriesFirstWhenFull() {
+        cache.markNotFound("1");
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.markNotFound("2");
+        cache.markNotFound("3");
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.markNotFound("4");
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.isNotFound("2")).isTrue();
+        assertThat(cache.isNotFound("4")).isTrue();
+
+        cache.markNotFound("5");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.isNotFound("5")).isTrue();
+    }
+
+    @Test
+    void disabledByZeroTtl() {
+        EmployeeNotFoundCache disabled = new EmployeeNotFoundCache(Duration.ZERO, 3, clock::get);
+
+        disabled.markNotFound("1");
+
+        assertThat(disabled.isNotFound("1")).isFalse();
+    }
+}
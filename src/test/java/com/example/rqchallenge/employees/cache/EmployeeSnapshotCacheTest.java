@@ -0,0 +1,279 @@
+package com.example.rqchallenge.employees.cache;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeSnapshotCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final EmployeeSnapshotCache cache =
+            new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, false, 0.5, clock::get, List.of());
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void servesFreshSnapshotWithoutReloading() {
+        cache.get(this::load);
+        cache.get(this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getStats().getHits()).isEqualTo(1);
+        assertThat(cache.getStats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsOnceSnapshotIsExpired() {
+        cache.get(this::load);
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        List<Employee> employees = cache.get(this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(employees).hasSize(1);
+        assertThat(cache.getStats().getSnapshotVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsETagUntilContentChanges() {
+        assertThat(cache.getETag(this::load)).isNull();
+
+        cache.get(this::load);
+        String etag = cache.getETag(null);
+        cache.reload(this::load).join();
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(cache.getETag(null)).isEqualTo(etag);
+
+        cache.put(new Employee("2", "Garrett Winters", 170750, 63, ""));
+
+        assertThat(cache.getETag(null)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void publishesOnlyTheDeltaOfAChangedSnapshot() {
+        List<EmployeeDelta> deltas = new ArrayList<>();
+        EmployeeSnapshotCache listened = recordingDeltas(deltas);
+        try {
+            listened.get(() -> List.of(new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                    new Employee("2", "Garrett Winters", 170750, 63, "")));
+            clock.addAndGet(Duration.ofMinutes(10).toNanos());
+            listened.get(() -> List.of(new Employee("1", "Tiger Nixon", 330000, 61, ""),
+                    new Employee("3", "Ashton Cox", 86000, 66, "")));
+
+            assertThat(deltas).hasSize(1);
+            assertThat(deltas.get(0).getInserted()).extracting(Employee::getId).containsExactly("3");
+            assertThat(deltas.get(0).getUpdated()).extracting(Employee::getId).containsExactly("1");
+            assertThat(deltas.get(0).getDeleted()).containsExactly("2");
+            assertThat(listened.getStats().getSnapshotVersion()).isEqualTo(2);
+        } finally {
+            listened.shutdown();
+        }
+    }
+
+    @Test
+    void diffsAndPatchesCompactSnapshotsThroughTheirColumns() {
+        List<EmployeeDelta> deltas = new ArrayList<>();
+        EmployeeSnapshotCache listened = recordingDeltas(deltas, true);
+        try {
+            listened.get(() -> List.of(new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                    new Employee("2", "Garrett Winters", 170750, 63, "")));
+            clock.addAndGet(Duration.ofMinutes(10).toNanos());
+            List<Employee> reloaded = listened.get(() -> List.of(new Employee("1", "Tiger Nixon", 330000, 61, ""),
+                    new Employee("3", "Ashton Cox", 86000, 66, "")));
+
+            assertThat(reloaded).isInstanceOf(CompactEmployeeList.class);
+            assertThat(deltas).hasSize(1);
+            assertThat(deltas.get(0).getInserted()).extracting(Employee::getId).containsExactly("3");
+            assertThat(deltas.get(0).getUpdated()).extracting(Employee::getId).containsExactly("1");
+            assertThat(deltas.get(0).getDeleted()).containsExactly("2");
+
+            listened.put(new Employee("4", "Cedric Kelly", 433060, 22, ""));
+            listened.remove("1");
+            assertThat(listened.get(this::load)).extracting(Employee::getId).containsExactly("3", "4");
+            assertThat(listened.getCachedEmployee("4").getName()).isEqualTo("Cedric Kelly");
+
+            // A reload with the same content as the patched snapshot keeps its version
+            clock.addAndGet(Duration.ofMinutes(10).toNanos());
+            listened.get(() -> List.of(new Employee("3", "Ashton Cox", 86000, 66, ""),
+                    new Employee("4", "Cedric Kelly", 433060, 22, "")));
+            assertThat(deltas).hasSize(3);
+            assertThat(listened.getStats().getSnapshotVersion()).isEqualTo(4);
+        } finally {
+            listened.shutdown();
+        }
+    }
+
+    @Test
+    void appliesABatchAsOneNewVersion() {
+        cache.get(this::load);
+
+        cache.putAll(List.of(new Employee("1", "Tiger Nixon", 330000, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, "")));
+        cache.removeAll(List.of("1", "3"));
+
+        assertThat(cache.get(this::load)).extracting(Employee::getId).containsExactly("2");
+        assertThat(cache.getCachedEmployee("2").getName()).isEqualTo("Garrett Winters");
+        assertThat(cache.getCachedEmployee("1")).isNull();
+        assertThat(cache.getStats().getSnapshotVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void publishesBatchesToListenersAsDeltas() {
+        List<EmployeeDelta> deltas = new ArrayList<>();
+        EmployeeSnapshotCache listened = recordingDeltas(deltas);
+        try {
+            listened.get(this::load);
+            String etag = listened.getETag(null);
+
+            listened.putAll(List.of(new Employee("1", "Tiger Nixon", 330000, 61, ""),
+                    new Employee("2", "Garrett Winters", 170750, 63, "")));
+            assertThat(listened.getStats().getSnapshotVersion()).isEqualTo(2);
+            assertThat(listened.getETag(null)).isNotEqualTo(etag);
+            assertThat(deltas).hasSize(1);
+            assertThat(deltas.get(0).getInserted()).extracting(Employee::getId).containsExactly("1", "2");
+            assertThat(deltas.get(0).getDeleted()).isEmpty();
+
+            listened.removeAll(List.of("2"));
+            listened.removeAll(List.of());
+            assertThat(listened.getStats().getSnapshotVersion()).isEqualTo(3);
+            assertThat(deltas).hasSize(2);
+            assertThat(deltas.get(1).getInserted()).isEmpty();
+            assertThat(deltas.get(1).getDeleted()).containsExactly("2");
+            assertThat(listened.getCachedEmployee("1").getSalary()).isEqualTo(330000L);
+        } finally {
+            listened.shutdown();
+        }
+    }
+
+    @Test
+    void stopsServingTheOldSnapshotOnceANewOneIsTooLargeToCache() {
+        EmployeeSnapshotCache small =
+                new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), 1, false, 0.5, clock::get, List.of());
+        try {
+            small.get(this::load);
+            String etag = small.getETag(null);
+
+            List<Employee> employees = small.reload(() -> List.of(new Employee("1", "Tiger Nixon", 330000, 61, ""),
+                    new Employee("2", "Garrett Winters", 170750, 63, ""))).join();
+
+            assertThat(employees).hasSize(2);
+            assertThat(etag).isNotNull();
+            assertThat(small.hasSnapshot()).isFalse();
+            assertThat(small.getETag(null)).isNull();
+            assertThat(small.getCachedEmployee("1")).isNull();
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    void servesLastGoodSnapshotWhenRefreshFails() {
+        List<Employee> first = cache.get(this::load);
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        List<Employee> employees = cache.get(() -> {
+            throw new IllegalStateException("upstream down");
+        });
+
+        assertThat(employees).isSameAs(first);
+        assertThat(cache.getStats().getRefreshFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLastGoodSnapshotWhenUpstreamReturnsNoEmployees() {
+        List<Employee> first = cache.get(this::load);
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        List<Employee> employees = cache.get(List::of);
+
+        assertThat(employees).isSameAs(first);
+        assertThat(cache.getStats().getRefreshFailures()).isEqualTo(1);
+        assertThat(cache.getStats().getSnapshotVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void appliesALargeShrinkOnlyOnceTheNextRefreshConfirmsIt() {
+        List<Employee> first = cache.get(() -> List.of(new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, ""),
+                new Employee("3", "Ashton Cox", 86000, 66, "")));
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        assertThat(cache.get(this::load)).isSameAs(first);
+        assertThat(cache.get(this::load)).extracting(Employee::getId).containsExactly("1");
+        assertThat(cache.getStats().getRefreshFailures()).isEqualTo(1);
+        assertThat(cache.getStats().getSnapshotVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void completesReadsThatWaitedForARefreshOnTheGivenExecutor() throws InterruptedException {
+        ExecutorService requests = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "request"));
+        CountDownLatch loading = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> thread = cache.getAsync(() -> {
+                loading.await();
+                return load();
+            }, requests).thenApply(employees -> Thread.currentThread().getName());
+            loading.countDown();
+
+            assertThat(thread.join()).isEqualTo("request");
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    void propagatesFailureWhenNothingIsCached() {
+        assertThatThrownBy(() -> cache.get(() -> {
+            throw new IllegalStateException("upstream down");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private EmployeeSnapshotCache recordingDeltas(List<EmployeeDelta> deltas) {
+        return recordingDeltas(deltas, false);
+    }
+
+    private EmployeeSnapshotCache recordingDeltas(List<EmployeeDelta> deltas, boolean compact) {
+        return new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, compact, 0.5,
+                clock::get, List.of(new EmployeeSnapshotListener() {
+            @Override
+            public void onSnapshot(List<Employee> employees) {
+            }
+
+            @Override
+            public void onDelta(EmployeeDelta delta, List<Employee> employees) {
+                deltas.add(delta);
+            }
+
+            @Override
+            public void onEmployeeSaved(Employee employee) {
+            }
+
+            @Override
+            public void onEmployeeDeleted(String id) {
+            }
+        }));
+    }
+
+    private List<Employee> load() {
+        loads.incrementAndGet();
+        return List.of(new Employee("1", "Tiger Nixon", 320800, 61, ""));
+    }
+}
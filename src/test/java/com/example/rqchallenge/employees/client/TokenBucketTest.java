@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(2, 3, clock::get);
+
+    @Test
+    void allowsBurstThenRejects() {
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    void neverHoldsMoreThanBurst() {
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UpstreamCircuitBreaker breaker = new UpstreamCircuitBreaker(true, 10, 4, 50, Duration.ofSeconds(1),
+            100, Duration.ofSeconds(30), 2, clock::get);
+
+    @Test
+    void opensOnceFailureRateReachesThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+
+        fail();
+
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+        assertThatThrownBy(this::succeed).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(breaker.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        UpstreamCircuitBreaker slowBreaker = new UpstreamCircuitBreaker(true, 10, 2, 50, Duration.ofSeconds(1),
+                50, Duration.ofSeconds(30), 2, clock::get);
+
+        for (int i = 0; i < 2; i++) {
+            slowBreaker.execute(() -> clock.addAndGet(Duration.ofSeconds(2).toNanos()));
+        }
+
+        assertThat(slowBreaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        succeed();
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.HALF_OPEN);
+        succeed();
+
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenProbeFails() {
+        openCircuit();
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        fail();
+
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertThat(breaker.getState()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        breaker.execute(() -> "ok");
+    }
+
+    private void fail() {
+        try {
+            breaker.execute(() -> {
+                throw new IllegalStateException("upstream down");
+            });
+        } catch (IllegalStateException expected) {
+            // recorded as a failure
+        }
+    }
+}
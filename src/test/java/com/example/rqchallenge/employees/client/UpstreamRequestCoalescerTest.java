@@ -0,0 +1,129 @@
+package com.example.rqchallenge.employees.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamRequestCoalescerTest {
+
+    private static final String KEY = "/employees";
+
+    private final UpstreamRequestCoalescer coalescer = new UpstreamRequestCoalescer(true);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> coalescer.execute(KEY, this::blockingCall)));
+        }
+        awaitCoalesced(3);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result 1");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescer.getExecutedCount()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void joinedCallersSeeTheSharedFailure() throws Exception {
+        Future<String> leader = executor.submit(() -> coalescer.execute(KEY, () -> {
+            blockingCall();
+            throw new IllegalStateException("upstream down");
+        }));
+        awaitExecuted(1);
+        Future<String> follower = executor.submit(() -> coalescer.execute(KEY, this::blockingCall));
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void callsAfterCompletionGoUpstreamAgain() {
+        release.countDown();
+
+        assertThat(coalescer.execute(KEY, this::blockingCall)).isEqualTo("result 1");
+        assertThat(coalescer.execute(KEY, this::blockingCall)).isEqualTo("result 2");
+        assertThat(coalescer.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() throws Exception {
+        Future<String> first = executor.submit(() -> coalescer.execute(KEY, this::blockingCall));
+        Future<String> second = executor.submit(() -> coalescer.execute(KEY + "/1", this::blockingCall));
+        awaitExecuted(2);
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(coalescer.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void executesEveryCallWhenDisabled() {
+        UpstreamRequestCoalescer disabled = new UpstreamRequestCoalescer(false);
+        release.countDown();
+
+        disabled.execute(KEY, this::blockingCall);
+        disabled.execute(KEY, this::blockingCall);
+
+        assertThat(disabled.getExecutedCount()).isEqualTo(2);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private String blockingCall() {
+        int call = calls.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "result " + call;
+    }
+
+    private void awaitExecuted(long count) throws InterruptedException {
+        awaitUntil(() -> coalescer.getExecutedCount() >= count);
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        awaitUntil(() -> coalescer.getCoalescedCount() >= count);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSearchIndexTest {
+
+    private final NameSearchIndex index = new NameSearchIndex(false);
+
+    @BeforeEach
+    void setUp() {
+        index.onSnapshot(List.of(
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, ""),
+                new Employee("3", "Ashton Cox", 86000, 66, ""),
+                new Employee("4", "Nixon Tigress", 120000, 40, "")));
+    }
+
+    @Test
+    void findsSubstringsIgnoringCase() {
+        assertThat(index.search("TIG", 0, 10)).extracting(Employee::getId).containsExactly("1", "4");
+        assertThat(index.search("ni", 0, 10)).extracting(Employee::getId).containsExactly("1", "4");
+        assertThat(index.search("zzz", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesThroughMatches() {
+        assertThat(index.search("nixon", 1, 10)).extracting(Employee::getId).containsExactly("4");
+        assertThat(index.search("", 0, 2)).extracting(Employee::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    void countsMatchesAcrossBaseAndOverlay() {
+        index.onEmployeeSaved(new Employee("9", "Tigerlily", 1000, 30, ""));
+        index.onEmployeeDeleted("4");
+
+        assertThat(index.count("tig")).isEqualTo(2);
+        assertThat(index.count("ti")).isEqualTo(2);
+        assertThat(index.count("zzz")).isZero();
+        assertThat(index.search("tig", 0, 0)).isEmpty();
+    }
+
+    @Test
+    void appliesIncrementalChanges() {
+        index.onEmployeeSaved(new Employee("1", "Bob", 1000, 30, ""));
+        index.onEmployeeSaved(new Employee("9", "Tigerlily", 1000, 30, ""));
+        index.onEmployeeDeleted("4");
+
+        assertThat(index.search("tig", 0, 10)).extracting(Employee::getId).containsExactly("9");
+        assertThat(index.search("bo", 0, 10)).extracting(Employee::getId).containsExactly("1");
+    }
+}
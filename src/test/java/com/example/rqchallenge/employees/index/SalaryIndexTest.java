@@ -0,0 +1,101 @@
+package com.example.rqchallenge.employees.index;
+
+import com.example.rqchallenge.employees.cache.EmployeeDelta;
+import com.example.rqchallenge.employees.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryIndexTest {
+
+    private final SalaryIndex index = new SalaryIndex(false);
+
+    @BeforeEach
+    void setUp() {
+        index.onSnapshot(List.of(
+                new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, ""),
+                new Employee("3", "Tiger Nixon", 170750, 40, ""),
+                new Employee("4", "Ashton Cox", 86000, 66, "")));
+    }
+
+    @Test
+    void answersHighestSalaryFromTheHead() {
+        assertThat(index.getHighestSalary()).isEqualTo(320800L);
+        assertThat(new SalaryIndex(false).getHighestSalary()).isNull();
+    }
+
+    @Test
+    void returnsTopEarningNamesWithoutDuplicates() {
+        assertThat(index.getTopEarningNames(2)).containsExactly("Tiger Nixon", "Garrett Winters");
+        assertThat(index.getTopEarningNames(3)).containsExactly("Tiger Nixon", "Garrett Winters", "Ashton Cox");
+        assertThat(index.getTopEarningNames(10)).containsExactly("Tiger Nixon", "Garrett Winters", "Ashton Cox");
+    }
+
+    @Test
+    void reordersAnEmployeeWhenItsSalaryChanges() {
+        index.onEmployeeSaved(new Employee("4", "Ashton Cox", 400000, 66, ""));
+
+        assertThat(index.getHighestSalary()).isEqualTo(400000L);
+        assertThat(index.getTopEarningNames(10)).containsExactly("Ashton Cox", "Tiger Nixon", "Garrett Winters");
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void forgetsDeletedEmployees() {
+        index.onEmployeeDeleted("1");
+        index.onEmployeeDeleted("9");
+
+        assertThat(index.getHighestSalary()).isEqualTo(170750L);
+        assertThat(index.getTopEarningNames(10)).containsExactly("Garrett Winters", "Tiger Nixon", "Ashton Cox");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void appliesDeltas() {
+        index.onDelta(new EmployeeDelta(
+                List.of(new Employee("5", "Cedric Kelly", 433060, 22, "")),
+                List.of(new Employee("2", "Garrett Winters", 50000, 63, "")),
+                List.of("1")), List.of());
+
+        assertThat(index.getHighestSalary()).isEqualTo(433060L);
+        assertThat(index.getTopEarningNames(10)).containsExactly("Cedric Kelly", "Tiger Nixon", "Ashton Cox", "Garrett Winters");
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void iteratesBySalaryWithTiesByIdInBothDirections() {
+        assertThat(ids(index.iterator(true, null))).containsExactly("1", "2", "3", "4");
+        assertThat(ids(index.iterator(false, null))).containsExactly("4", "3", "2", "1");
+    }
+
+    @Test
+    void resumesIterationAfterTheGivenPosition() {
+        Employee after = new Employee("2", null, 170750, 0, null);
+
+        assertThat(ids(index.iterator(true, after))).containsExactly("3", "4");
+        assertThat(ids(index.iterator(false, after))).containsExactly("1");
+    }
+
+    @Test
+    void staysEmptyWhenDisabled() {
+        SalaryIndex disabled = new SalaryIndex(true);
+        disabled.onSnapshot(List.of(new Employee("1", "Tiger Nixon", 320800, 61, "")));
+        disabled.onEmployeeSaved(new Employee("2", "Garrett Winters", 170750, 63, ""));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.size()).isZero();
+        assertThat(disabled.getTopEarningNames(10)).isEmpty();
+    }
+
+    private static List<String> ids(Iterator<Employee> iterator) {
+        List<String> ids = new ArrayList<>();
+        iterator.forEachRemaining(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+}
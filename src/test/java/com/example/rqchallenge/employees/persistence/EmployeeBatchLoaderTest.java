@@ -0,0 +1,120 @@
+package com.example.rqchallenge.employees.persistence;
+
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeBatchLoaderTest {
+
+    private static final Map<String, Employee> STORED = Map.of(
+            "1", new Employee("1", "Tiger Nixon", 320800, 61, ""),
+            "2", new Employee("2", "Garrett Winters", 170750, 63, ""));
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final List<Set<String>> queried = new CopyOnWriteArrayList<>();
+    private EmployeeBatchLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Set<String> ids = new TreeSet<>();
+            Iterable<String> requested = invocation.getArgument(0);
+            requested.forEach(ids::add);
+            queried.add(ids);
+            List<Employee> found = new ArrayList<>();
+            ids.stream().filter(STORED::containsKey).map(STORED::get).forEach(found::add);
+            return found;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    void loadsIdsRequestedWithinTheWindowInOneQuery() throws Exception {
+        loader = new EmployeeBatchLoader(repository, Duration.ofMillis(50), 100);
+
+        CompletableFuture<Employee> first = loader.load("1");
+        CompletableFuture<Employee> second = loader.load("2");
+        CompletableFuture<Employee> missing = loader.load("9");
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Tiger Nixon");
+        assertThat(second.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Garrett Winters");
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(queried).containsExactly(Set.of("1", "2", "9"));
+        assertThat(loader.getQueryCount()).isEqualTo(1);
+        assertThat(loader.getLoadedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flushesAsSoonAsTheBatchIsFull() throws Exception {
+        loader = new EmployeeBatchLoader(repository, Duration.ofMinutes(10), 2);
+
+        CompletableFuture<Employee> first = loader.load("1");
+        CompletableFuture<Employee> second = loader.load("2");
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isEqualTo("2");
+        assertThat(queried).containsExactly(Set.of("1", "2"));
+    }
+
+    @Test
+    void concurrentRequestsForTheSameIdShareOneSlot() throws Exception {
+        loader = new EmployeeBatchLoader(repository, Duration.ofMillis(50), 2);
+
+        CompletableFuture<Employee> first = loader.load("1");
+        CompletableFuture<Employee> again = loader.load("1");
+
+        assertThat(again).isSameAs(first);
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isEqualTo("1");
+        assertThat(queried).containsExactly(Set.of("1"));
+    }
+
+    @Test
+    void failsEveryCallerOfTheBatchWhenTheQueryFails() {
+        when(repository.findAllById(anyIterable())).thenThrow(new DataAccessResourceFailureException("database down"));
+        loader = new EmployeeBatchLoader(repository, Duration.ofMillis(10), 100);
+
+        CompletableFuture<Employee> first = loader.load("1");
+        CompletableFuture<Employee> second = loader.load("2");
+
+        for (CompletableFuture<Employee> future : List.of(first, second)) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        }
+    }
+
+    @Test
+    void startsANewBatchAfterAFlush() throws Exception {
+        loader = new EmployeeBatchLoader(repository, Duration.ofMillis(10), 100);
+
+        loader.load("1").get(5, TimeUnit.SECONDS);
+        loader.load("2").get(5, TimeUnit.SECONDS);
+
+        assertThat(queried).containsExactly(Set.of("1"), Set.of("2"));
+        assertThat(loader.getQueryCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.rqchallenge.employees.persistence;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeWriteBehindQueueTest {
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final Map<String, Employee> stored = new ConcurrentHashMap<>();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private EmployeeWriteBehindQueue queue;
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            released.await(5, TimeUnit.SECONDS);
+            failIfRequested();
+            Collection<Employee> employees = invocation.getArgument(0);
+            employees.forEach(employee -> stored.put(employee.getId(), employee));
+            return null;
+        }).when(repository).upsertAll(anyCollection());
+        doAnswer(invocation -> {
+            failIfRequested();
+            Iterable<String> ids = invocation.getArgument(0);
+            ids.forEach(stored::remove);
+            return null;
+        }).when(repository).deleteAllByIdInBatch(anyIterable());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (cache != null) {
+            cache.shutdown();
+        }
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void reconcilesWritesDroppedByAFullQueueOnLaterSyncs() throws InterruptedException {
+        start(true, 2);
+        List<Employee> employees = employees(5);
+
+        // The flusher blocks on the first batch, so most of the first snapshot does not fit
+        cache.reload(() -> employees).join();
+        assertThat(queue.getDroppedCount()).isPositive();
+        assertThat(queue.needsFullSnapshot()).isTrue();
+
+        released.countDown();
+        for (int sync = 0; sync < 10 && stored.size() < employees.size(); sync++) {
+            await(() -> queue.getQueueDepth() == 0);
+            cache.reload(() -> employees).join();
+        }
+
+        await(() -> stored.size() == employees.size());
+        assertThat(stored.keySet()).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+    }
+
+    @Test
+    void reconcilesFailedSavesAndDeletesOnNextSync() throws InterruptedException {
+        released.countDown();
+        start(true, 100);
+
+        failing.set(true);
+        cache.reload(() -> employees(2)).join();
+        await(() -> queue.getQueueDepth() == 0 && queue.needsFullSnapshot());
+        failing.set(false);
+        assertThat(queue.getFlushFailureCount()).isPositive();
+
+        cache.reload(() -> employees(2)).join();
+        await(() -> stored.size() == 2);
+
+        failing.set(true);
+        cache.reload(() -> employees(1)).join();
+        await(() -> queue.getQueueDepth() == 0 && queue.needsFullSnapshot());
+        failing.set(false);
+        assertThat(stored).containsKey("2");
+
+        cache.reload(() -> employees(1)).join();
+        await(() -> !stored.containsKey("2"));
+        assertThat(stored.keySet()).containsExactly("1");
+        assertThat(queue.needsFullSnapshot()).isFalse();
+    }
+
+    @Test
+    void persistsTheChangesOfTheSnapshotItReconcilesAgainst() throws InterruptedException {
+        released.countDown();
+        start(true, 100);
+        cache.reload(() -> employees(2)).join();
+        await(() -> stored.size() == 2);
+
+        failing.set(true);
+        cache.reload(() -> employees(3)).join();
+        await(() -> queue.getQueueDepth() == 0 && queue.needsFullSnapshot());
+        failing.set(false);
+
+        List<Employee> changed = new ArrayList<>(employees(3));
+        changed.set(0, new Employee("1", "Employee 1", 5000, 21, ""));
+        changed.remove(1);
+        cache.reload(() -> changed).join();
+
+        await(() -> stored.get("1").getSalary() == 5000 && !stored.containsKey("2"));
+        assertThat(stored.keySet()).containsExactlyInAnyOrder("1", "3");
+        assertThat(queue.needsFullSnapshot()).isFalse();
+    }
+
+    @Test
+    void deletesEmployeesPersistedBeforeARestartThatTheFirstSnapshotNoLongerHas() throws InterruptedException {
+        employees(3).forEach(employee -> stored.put(employee.getId(), employee));
+        when(repository.findAllIds()).thenAnswer(invocation -> new ArrayList<>(stored.keySet()));
+        released.countDown();
+        start(true, 100);
+
+        cache.reload(() -> employees(2)).join();
+        await(() -> !stored.containsKey("3"));
+        assertThat(stored.keySet()).containsExactlyInAnyOrder("1", "2");
+
+        // Only the first snapshot is checked against the table
+        stored.put("4", new Employee("4", "Employee 4", 4000, 24, ""));
+        cache.reload(() -> employees(2)).join();
+        assertThat(stored).containsKey("4");
+    }
+
+    @Test
+    void publishesTheSnapshotWhenSynchronousWritesFail() {
+        released.countDown();
+        start(false, 100);
+
+        failing.set(true);
+        cache.reload(() -> employees(2)).join();
+
+        assertThat(cache.getStats().getSnapshotVersion()).isEqualTo(1);
+        assertThat(queue.getFlushFailureCount()).isEqualTo(1);
+        assertThat(queue.needsFullSnapshot()).isTrue();
+
+        failing.set(false);
+        cache.reload(() -> employees(2)).join();
+
+        assertThat(stored).hasSize(2);
+        assertThat(queue.needsFullSnapshot()).isFalse();
+    }
+
+    private void start(boolean writeBehind, int queueCapacity) {
+        queue = new EmployeeWriteBehindQueue(repository, new SimpleMeterRegistry(), writeBehind, queueCapacity, 10,
+                Duration.ofMillis(5));
+        cache = new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, false, 0.5, List.of(queue));
+    }
+
+    private void failIfRequested() {
+        if (failing.get()) {
+            throw new IllegalStateException("database down");
+        }
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, 1000L * i, 20 + i, ""));
+        }
+        return employees;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.model.BulkItemResult;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeeRequest;
+import com.example.rqchallenge.exception.ResourceNotFoundException;
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeBulkServiceTest {
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final EmployeeSnapshotCache snapshotCache =
+            new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, false, 0.5, List.of());
+    private EmployeeBulkService bulkService;
+
+    @AfterEach
+    void tearDown() {
+        bulkService.shutdown();
+        snapshotCache.shutdown();
+    }
+
+    @Test
+    void reportsTheStatusOfEachItem() {
+        start(4, Duration.ofSeconds(2));
+        when(employeeService.createEmployee(any(), eq(false))).thenAnswer(invocation -> {
+            EmployeeRequest request = invocation.getArgument(0);
+            switch (request.getName()) {
+                case "limited":
+                    throw new TooManyRequestsException("Rate limited", Duration.ofMinutes(1));
+                case "down":
+                    throw new UpstreamUnavailableException("Circuit open");
+                case "invalid":
+                    throw new IllegalArgumentException("Invalid salary");
+                default:
+                    return new Employee("id-" + request.getName(), request.getName(), 1000, 30, "");
+            }
+        });
+
+        List<BulkItemResult> results = bulkService.createEmployees(List.of(
+                request("ok"), request("limited"), request("down"), request("invalid")));
+
+        assertThat(results).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(200, 429, 503, 400);
+        assertThat(results.get(0).getEmployee().getId()).isEqualTo("id-ok");
+        assertThat(results.get(3).getError()).isEqualTo("Invalid salary");
+    }
+
+    @Test
+    void reportsAMissingIdAsNotFoundAndOtherDeleteFailuresAsErrors() {
+        start(2, Duration.ofSeconds(2));
+        when(employeeService.deleteEmployee(eq("missing"), eq(false)))
+                .thenThrow(new ResourceNotFoundException("Employee with ID missing not found"));
+        when(employeeService.deleteEmployee(eq("broken"), eq(false))).thenReturn(null);
+        when(employeeService.deleteEmployee(eq("1"), eq(false))).thenReturn("Tiger Nixon");
+
+        List<BulkItemResult> results = bulkService.deleteEmployees(List.of("missing", "broken", "1"));
+
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(404, 500, 200);
+        assertThat(results.get(0).getError()).isEqualTo("Employee with ID missing not found");
+    }
+
+    @Test
+    void retriesRateLimitedItemsAfterRetryAfter() {
+        start(2, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+        when(employeeService.deleteEmployee(anyString(), eq(false))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new TooManyRequestsException("Rate limited", Duration.ofMillis(50));
+            }
+            return "Employee " + invocation.getArgument(0);
+        });
+
+        long start = System.nanoTime();
+        List<BulkItemResult> results = bulkService.deleteEmployees(List.of("1"));
+
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(200);
+        assertThat(results.get(0).getName()).isEqualTo("Employee 1");
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void waitingForRetryAfterDoesNotHoldAPoolThread() throws Exception {
+        start(1, Duration.ofSeconds(5));
+        AtomicInteger slowCalls = new AtomicInteger();
+        when(employeeService.deleteEmployee(anyString(), eq(false))).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if (id.equals("slow") && slowCalls.incrementAndGet() == 1) {
+                throw new TooManyRequestsException("Rate limited", Duration.ofMillis(500));
+            }
+            return "Employee " + id;
+        });
+
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> {
+            bulkService.deleteEmployees(List.of("slow"));
+            return System.nanoTime();
+        });
+        while (slowCalls.get() == 0) {
+            Thread.sleep(1);
+        }
+        List<BulkItemResult> fast = bulkService.deleteEmployees(List.of("fast"));
+        long fastDone = System.nanoTime();
+
+        assertThat(fast).extracting(BulkItemResult::getStatus).containsExactly(200);
+        assertThat(fastDone).isLessThan(slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void answersWithinMaxWaitAndAppliesLateResults() throws Exception {
+        start(2, Duration.ofMillis(200));
+        snapshotCache.reload(() -> List.of(employee("fast"), employee("slow"))).join();
+        CountDownLatch released = new CountDownLatch(1);
+        when(employeeService.deleteEmployee(anyString(), eq(false))).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if (id.equals("slow")) {
+                released.await(5, TimeUnit.SECONDS);
+            }
+            return "Employee " + id;
+        });
+
+        long start = System.nanoTime();
+        List<BulkItemResult> results = bulkService.deleteEmployees(List.of("fast", "slow"));
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(200, 504);
+        assertThat(results.get(1).getId()).isEqualTo("slow");
+        assertThat(snapshotCache.getCachedEmployee("fast")).isNull();
+        assertThat(snapshotCache.getCachedEmployee("slow")).isNotNull();
+
+        released.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshotCache.getCachedEmployee("slow") != null) {
+            assertThat(System.nanoTime()).as("late delete not applied within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void updatesTheSnapshotOnceWithTheSucceededItems() {
+        start(4, Duration.ofSeconds(2));
+        snapshotCache.reload(() -> List.of(employee("1"), employee("2"), employee("3"))).join();
+        when(employeeService.deleteEmployee(anyString(), eq(false))).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if (id.equals("2")) {
+                throw new UpstreamUnavailableException("Circuit open");
+            }
+            return "Employee " + id;
+        });
+
+        bulkService.deleteEmployees(List.of("1", "2", "3"));
+
+        assertThat(snapshotCache.getStats().getSnapshotVersion()).isEqualTo(2);
+        assertThat(snapshotCache.getCachedEmployee("1")).isNull();
+        assertThat(snapshotCache.getCachedEmployee("2")).isNotNull();
+        assertThat(snapshotCache.getCachedEmployee("3")).isNull();
+    }
+
+    @Test
+    void rejectsBatchesAboveTheMaximumSize() {
+        start(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> bulkService.deleteEmployees(List.of("1", "2", "3", "4", "5", "6")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    private void start(int parallelism, Duration maxWait) {
+        bulkService = new EmployeeBulkService(employeeService, snapshotCache, parallelism, 5, maxWait);
+    }
+
+    private static EmployeeRequest request(String name) {
+        return EmployeeRequest.builder().setName(name).setSalary("1000").setAge("30").build();
+    }
+
+    private static Employee employee(String id) {
+        return new Employee(id, "Employee " + id, 1000, 30, "");
+    }
+}
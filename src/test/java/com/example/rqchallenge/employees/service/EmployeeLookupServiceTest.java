@@ -0,0 +1,118 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.cache.EmployeeNotFoundCache;
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeBatchLoader;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeLookupServiceTest {
+
+    private static final Employee TIGER = new Employee("1", "Tiger Nixon", 320800, 61, "");
+
+    private final EmployeeSnapshotCache snapshotCache = mock(EmployeeSnapshotCache.class);
+    private final EmployeeNotFoundCache notFoundCache = new EmployeeNotFoundCache(Duration.ofMinutes(1), 100);
+    private final EmployeeBatchLoader batchLoader = mock(EmployeeBatchLoader.class);
+    private final EmployeeApiClient apiClient = mock(EmployeeApiClient.class);
+    private final EmployeeLookupService lookupService =
+            new EmployeeLookupService(snapshotCache, notFoundCache, batchLoader, apiClient, true);
+
+    @Test
+    void answersFromTheSnapshotFirst() {
+        when(snapshotCache.getCachedEmployee("1")).thenReturn(TIGER);
+
+        assertThat(lookupService.findById("1")).isSameAs(TIGER);
+        verify(batchLoader, never()).load(anyString());
+        verify(apiClient, never()).fetchEmployeeById(anyString());
+        assertThat(lookupService.getSnapshotHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void answersFromTheDatabaseBeforeTheUpstream() {
+        when(batchLoader.load("1")).thenReturn(CompletableFuture.completedFuture(TIGER));
+
+        assertThat(lookupService.findById("1")).isSameAs(TIGER);
+        verify(apiClient, never()).fetchEmployeeById(anyString());
+        assertThat(lookupService.getDatabaseHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void asksTheUpstreamWhenNoCheaperTierKnowsTheEmployee() {
+        when(batchLoader.load("1")).thenReturn(CompletableFuture.completedFuture(null));
+        when(apiClient.fetchEmployeeById("1")).thenReturn(TIGER);
+
+        assertThat(lookupService.findById("1")).isSameAs(TIGER);
+        assertThat(lookupService.getUpstreamLookupCount()).isEqualTo(1);
+        assertThat(notFoundCache.isNotFound("1")).isFalse();
+    }
+
+    @Test
+    void remembersIdsTheUpstreamAnswersNotFoundFor() {
+        when(batchLoader.load("9")).thenReturn(CompletableFuture.completedFuture(null));
+        when(apiClient.fetchEmployeeById("9"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThat(lookupService.findById("9")).isNull();
+        assertThat(lookupService.findById("9")).isNull();
+
+        verify(batchLoader, times(1)).load("9");
+        verify(apiClient, times(1)).fetchEmployeeById("9");
+        assertThat(lookupService.getNotFoundHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remembersIdsTheUpstreamAnswersWithoutData() {
+        when(batchLoader.load("9")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(lookupService.findById("9")).isNull();
+        assertThat(lookupService.findById("9")).isNull();
+
+        verify(apiClient, times(1)).fetchEmployeeById("9");
+    }
+
+    @Test
+    void doesNotRememberUpstreamFailures() {
+        when(batchLoader.load("1")).thenReturn(CompletableFuture.completedFuture(null));
+        when(apiClient.fetchEmployeeById("1")).thenThrow(new UpstreamUnavailableException("Upstream unavailable"));
+
+        assertThatThrownBy(() -> lookupService.findById("1")).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(notFoundCache.isNotFound("1")).isFalse();
+    }
+
+    @Test
+    void fallsBackToTheUpstreamWhenTheDatabaseFails() {
+        CompletableFuture<Employee> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new DataAccessResourceFailureException("database down"));
+        when(batchLoader.load("1")).thenReturn(failed);
+        when(apiClient.fetchEmployeeById("1")).thenReturn(TIGER);
+
+        assertThat(lookupService.findById("1")).isSameAs(TIGER);
+    }
+
+    @Test
+    void skipsTheDatabaseWhenDisabled() {
+        EmployeeLookupService withoutDatabase =
+                new EmployeeLookupService(snapshotCache, notFoundCache, batchLoader, apiClient, false);
+        when(apiClient.fetchEmployeeById("1")).thenReturn(TIGER);
+
+        assertThat(withoutDatabase.findById("1")).isSameAs(TIGER);
+        verify(batchLoader, never()).load(anyString());
+    }
+}
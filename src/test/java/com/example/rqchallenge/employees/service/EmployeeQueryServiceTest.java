@@ -0,0 +1,123 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.model.EmployeePage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeQueryServiceTest {
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final SalaryIndex salaryIndex = new SalaryIndex(false);
+    private final EmployeeQueryService queryService = new EmployeeQueryService(employeeService, salaryIndex, 1000);
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, 1000L * (i % 4), 20 + i, ""));
+        }
+        when(employeeService.getAllEmployees()).thenReturn(employees);
+        salaryIndex.onSnapshot(employees);
+    }
+
+    @Test
+    void pagesInSnapshotOrder() {
+        EmployeePage page = queryService.getPage(null, 1, 3, null, null, null);
+
+        assertThat(page.getData()).extracting("id").containsExactly("4", "5", "6");
+        assertThat(page.getTotal()).isEqualTo(7);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void walksAllPagesWithCursor() {
+        List<Object> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            EmployeePage page = queryService.getPage(null, 0, 3, cursor, "salary,desc", "id");
+            page.getData().forEach(row -> ids.add(((Map<?, ?>) row).get("id")));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly("3", "7", "2", "6", "1", "5", "4");
+    }
+
+    @Test
+    void sortsByAgeAndProjectsFields() {
+        EmployeePage page = queryService.getPage(null, 0, 2, null, "age,desc", "name,age");
+
+        assertThat(page.getData()).containsExactly(
+                Map.of("employee_name", "Employee 7", "employee_age", 27),
+                Map.of("employee_name", "Employee 6", "employee_age", 26));
+    }
+
+    @Test
+    void pushesUnsortedSearchPagesDownAndCountsTheMatches() {
+        when(employeeService.getEmployeesByNameSearch("Employee", 4, 2)).thenReturn(List.of(
+                new Employee("5", "Employee 5", 1000, 25, ""), new Employee("6", "Employee 6", 2000, 26, "")));
+        when(employeeService.countEmployeesByNameSearch("Employee")).thenReturn(7);
+
+        EmployeePage page = queryService.getPage("Employee", 2, 2, null, null, "id");
+
+        assertThat(page.getData()).containsExactly(Map.of("id", "5"), Map.of("id", "6"));
+        assertThat(page.getTotal()).isEqualTo(7);
+        assertThat(page.getNextCursor()).isNull();
+        verify(employeeService, never()).getEmployeesByNameSearch("Employee");
+    }
+
+    @Test
+    void feedsSortedSearchMatchesIntoTheHeapWithoutListingThem() {
+        List<Employee> matches = List.of(new Employee("2", "Employee 2", 2000, 22, ""),
+                new Employee("7", "Employee 7", 3000, 27, ""), new Employee("5", "Employee 5", 1000, 25, ""));
+        when(employeeService.streamEmployeesByNameSearch(eq("Employee"), any())).thenAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(1);
+            matches.forEach(consumer);
+            return matches.size();
+        });
+
+        EmployeePage first = queryService.getPage("Employee", 0, 2, null, "salary,desc", "id");
+        EmployeePage second = queryService.getPage("Employee", 0, 2, first.getNextCursor(), "salary,desc", "id");
+
+        assertThat(first.getData()).containsExactly(Map.of("id", "7"), Map.of("id", "2"));
+        assertThat(first.getTotal()).isEqualTo(3);
+        assertThat(second.getData()).containsExactly(Map.of("id", "5"));
+        assertThat(second.getNextCursor()).isNull();
+        verify(employeeService, never()).getEmployeesByNameSearch("Employee");
+    }
+
+    @Test
+    void sortsEmployeesWithoutANameLastAndPagesPastThem() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(new Employee("1", null, 1000, 21, ""),
+                new Employee("2", "Ashton Cox", 2000, 22, ""), new Employee("3", null, 3000, 23, "")));
+
+        EmployeePage first = queryService.getPage(null, 0, 2, null, "name", "id");
+        EmployeePage second = queryService.getPage(null, 0, 2, first.getNextCursor(), "name", "id");
+
+        assertThat(first.getData()).containsExactly(Map.of("id", "2"), Map.of("id", "1"));
+        assertThat(second.getData()).containsExactly(Map.of("id", "3"));
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        String cursor = queryService.getPage(null, 0, 2, null, "age", null).getNextCursor();
+
+        assertThatThrownBy(() -> queryService.getPage(null, 0, 2, cursor, "name", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.cache.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.index.NameSearchIndex;
+import com.example.rqchallenge.employees.index.SalaryIndex;
+import com.example.rqchallenge.employees.model.Employee;
+import com.example.rqchallenge.employees.persistence.EmployeeWriteBehindQueue;
+import com.example.rqchallenge.employees.repository.EmployeeRepository;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeServiceTest {
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final EmployeeService service = new EmployeeService(mock(EmployeeApiClient.class), repository,
+            new ObjectMapper(), mock(EmployeeSnapshotCache.class), new SalaryIndex(false), new NameSearchIndex(false),
+            mock(EmployeeLookupService.class), 1000, "database", false);
+    private final List<EmployeeSnapshotCache> caches = new ArrayList<>();
+    private final List<EmployeeWriteBehindQueue> queues = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        caches.forEach(EmployeeSnapshotCache::shutdown);
+        for (EmployeeWriteBehindQueue queue : queues) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void readsTopEarningNamesOffTheSalaryOrderSkippingRepeatedNames() {
+        List<String> rows = List.of("Tiger Nixon", "Tiger Nixon", "Garrett Winters", "Ashton Cox", "Tiger Nixon");
+        when(repository.findNamesBySalaryDesc(any())).thenAnswer(invocation -> page(rows, invocation.getArgument(0)));
+
+        assertThat(service.getTopHighestEarningEmployeeNames(2)).containsExactly("Tiger Nixon", "Garrett Winters");
+        verify(repository, times(1)).findNamesBySalaryDesc(any());
+    }
+
+    @Test
+    void keepsPagingUntilEnoughDistinctNamesAreFound() {
+        List<String> rows = new ArrayList<>(Collections.nCopies(150, "Tiger Nixon"));
+        rows.add("Garrett Winters");
+        when(repository.findNamesBySalaryDesc(any())).thenAnswer(invocation -> page(rows, invocation.getArgument(0)));
+
+        assertThat(service.getTopHighestEarningEmployeeNames(2)).containsExactly("Tiger Nixon", "Garrett Winters");
+        verify(repository, times(3)).findNamesBySalaryDesc(any());
+    }
+
+    @Test
+    void stopsAtTheEndOfTheTableWithFewerNames() {
+        List<String> rows = List.of("Tiger Nixon", "Garrett Winters");
+        when(repository.findNamesBySalaryDesc(any())).thenAnswer(invocation -> page(rows, invocation.getArgument(0)));
+
+        assertThat(service.getTopHighestEarningEmployeeNames(10)).containsExactly("Tiger Nixon", "Garrett Winters");
+    }
+
+    @Test
+    void servesTheEmployeesPersistedBeforeARestartWhileTheExternalApiIsDown() throws InterruptedException {
+        Map<String, Employee> table = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            Collection<Employee> employees = invocation.getArgument(0);
+            employees.forEach(employee -> table.put(employee.getId(), employee));
+            return null;
+        }).when(repository).upsertAll(anyCollection());
+        when(repository.findAll()).thenAnswer(invocation -> new ArrayList<>(table.values()));
+        List<Employee> employees = List.of(new Employee("1", "Tiger Nixon", 320800, 61, ""),
+                new Employee("2", "Garrett Winters", 170750, 63, ""));
+
+        EmployeeApiClient upstream = mock(EmployeeApiClient.class);
+        when(upstream.fetchAllEmployees()).thenReturn(employees);
+        EmployeeWriteBehindQueue queue = writeBehindQueue();
+        assertThat(start(upstream, queue).getAllEmployees()).hasSize(2);
+        queue.shutdown();
+
+        // Shutting down flushes what is still queued; the next process starts without a snapshot while the external API is down
+        EmployeeApiClient unavailable = mock(EmployeeApiClient.class);
+        when(unavailable.fetchAllEmployees()).thenThrow(new UpstreamUnavailableException("circuit open"));
+        assertThat(start(unavailable, writeBehindQueue()).getAllEmployees())
+                .extracting(Employee::getId).containsExactlyInAnyOrder("1", "2");
+    }
+
+    private EmployeeWriteBehindQueue writeBehindQueue() {
+        EmployeeWriteBehindQueue queue =
+                new EmployeeWriteBehindQueue(repository, new SimpleMeterRegistry(), true, 100, 10, Duration.ofMillis(5));
+        queues.add(queue);
+        return queue;
+    }
+
+    private EmployeeService start(EmployeeApiClient client, EmployeeWriteBehindQueue queue) {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(true, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                100, false, 0.5, List.of(queue));
+        caches.add(cache);
+        return new EmployeeService(client, repository, new ObjectMapper(), cache, new SalaryIndex(false),
+                new NameSearchIndex(false), mock(EmployeeLookupService.class), 1000, "database", false);
+    }
+
+    private static List<String> page(List<String> rows, Pageable pageable) {
+        int from = (int) Math.min(rows.size(), pageable.getOffset());
+        return rows.subList(from, Math.min(rows.size(), from + pageable.getPageSize()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rqchallenge.employees.sync;
+
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EmployeeSyncSchedulerTest {
+
+    private EmployeeSyncScheduler scheduler = scheduler(Duration.ofSeconds(30), Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void doublesTheDelayPerFailureUpToMaxBackoff() {
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(4));
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(8));
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(backoff()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(scheduler.getStats().getConsecutiveFailures()).isEqualTo(6);
+    }
+
+    @Test
+    void saturatesInsteadOfOverflowingForLongIntervals() {
+        scheduler.shutdown();
+        scheduler = scheduler(Duration.ofHours(3), Duration.ofDays(36500));
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(backoff()).isGreaterThan(Duration.ZERO).isLessThanOrEqualTo(Duration.ofDays(36500));
+        }
+        assertThat(backoff()).isEqualTo(Duration.ofDays(36500));
+    }
+
+    @Test
+    void waitsAtLeastAsLongAsRetryAfterAsks() {
+        long delay = scheduler.backoffAfter(new TooManyRequestsException("Rate limited", Duration.ofMinutes(5)));
+        assertThat(Duration.ofNanos(delay)).isEqualTo(Duration.ofMinutes(5));
+
+        delay = scheduler.backoffAfter(new TooManyRequestsException("Rate limited", Duration.ofSeconds(1)));
+        assertThat(Duration.ofNanos(delay)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(scheduler.getStats().getRateLimited()).isEqualTo(2);
+    }
+
+    private Duration backoff() {
+        return Duration.ofNanos(scheduler.backoffAfter(new IllegalStateException("upstream down")));
+    }
+
+    private static EmployeeSyncScheduler scheduler(Duration interval, Duration maxBackoff) {
+        return new EmployeeSyncScheduler(mock(EmployeeService.class), interval, maxBackoff);
+    }
+}
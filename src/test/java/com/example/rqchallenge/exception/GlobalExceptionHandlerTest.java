@@ -0,0 +1,41 @@
+package com.example.rqchallenge.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final WebRequest request = mock(WebRequest.class);
+
+    GlobalExceptionHandlerTest() {
+        when(request.getDescription(false)).thenReturn("uri=/api/v1/employee/1");
+    }
+
+    @Test
+    void answersUnexpectedErrorsWithAnEmptyServerError() {
+        ResponseEntity<String> response = handler.handleException(
+                new IllegalStateException("could not execute statement; SQL [insert into employee ...]"), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void answersUpstreamFailuresWithTheirStatusAndRetryAfter() {
+        ResponseEntity<String> response = handler.handleUpstreamException(
+                new TooManyRequestsException("Rate limited", Duration.ofSeconds(30)), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.rqchallenge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpHeaderUtilTest {
+
+    @Test
+    void parsesRetryAfterSeconds() {
+        assertThat(HttpHeaderUtil.parseRetryAfter("120")).isEqualTo(Duration.ofSeconds(120));
+        assertThat(HttpHeaderUtil.parseRetryAfter(" 0 ")).isEqualTo(Duration.ZERO);
+        assertThat(HttpHeaderUtil.parseRetryAfter("-5")).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void parsesRetryAfterHttpDate() {
+        Duration delay = HttpHeaderUtil.parseRetryAfter(httpDate(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(90)));
+
+        assertThat(delay).isGreaterThan(Duration.ofSeconds(80)).isLessThanOrEqualTo(Duration.ofSeconds(90));
+    }
+
+    @Test
+    void treatsAPastHttpDateAsNoDelay() {
+        assertThat(HttpHeaderUtil.parseRetryAfter(httpDate(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(5))))
+                .isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void ignoresMissingOrMalformedValues() {
+        assertThat(HttpHeaderUtil.parseRetryAfter(null)).isNull();
+        assertThat(HttpHeaderUtil.parseRetryAfter(" ")).isNull();
+        assertThat(HttpHeaderUtil.parseRetryAfter("soon")).isNull();
+        assertThat(HttpHeaderUtil.parseRetryAfter("2026-10-18T12:00:00Z")).isNull();
+    }
+
+    private static String httpDate(ZonedDateTime time) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(time);
+    }
+}
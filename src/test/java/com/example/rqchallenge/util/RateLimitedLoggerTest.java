@@ -0,0 +1,57 @@
+package com.example.rqchallenge.util;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedLoggerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final RateLimitedLogger log = new RateLimitedLogger(LoggerFactory.getLogger(RateLimitedLoggerTest.class),
+            3, TimeUnit.SECONDS.toNanos(10), 5, clock::get);
+
+    @Test
+    void logsBurstThenSamples() {
+        for (int i = 0; i < 3; i++) {
+            log.warn("Upstream failure {}", i);
+        }
+        assertThat(log.getSuppressedCount()).isZero();
+
+        // The 5th message past the burst is logged, the other 4 are suppressed
+        for (int i = 0; i < 5; i++) {
+            log.warn("Upstream failure {}", i);
+        }
+        assertThat(log.getSuppressedCount()).isEqualTo(4);
+    }
+
+    @Test
+    void startsNewBurstInNextWindow() {
+        for (int i = 0; i < 4; i++) {
+            log.error("Upstream failure {}", i, new IllegalStateException());
+        }
+        assertThat(log.getSuppressedCount()).isEqualTo(1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            log.error("Upstream failure {}", i, new IllegalStateException());
+        }
+        assertThat(log.getSuppressedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsEachFormatOnItsOwn() {
+        for (int i = 0; i < 10; i++) {
+            log.warn("Upstream failure {}", i);
+        }
+        assertThat(log.getSuppressedCount()).isEqualTo(6);
+
+        for (int i = 0; i < 3; i++) {
+            log.error("Database lookup of employee {} failed", i);
+        }
+        assertThat(log.getSuppressedCount()).isEqualTo(6);
+    }
+}